@@ -0,0 +1,130 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding the id of a lemma through the minimal perfect hash of the {@link LemmaTable}, through the word hash
+ * mapped from a {@link DictionarySnapshot}, and through the {@link LemmaAutomaton} with finding it through a
+ * {@code HashMap<String, Integer>}, for lemmas in the dictionary and for lemmas which are not. Like the dictionary
+ * queries, each lookup first lower cases the word, so neither index benefits from a cached hash code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LemmaLookupBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private LemmaStore lemmas;
+    private SnapshotDictionaryData snapshot;
+    private LemmaAutomaton automaton;
+    private Map<String, Integer> map;
+    private String[] hits;
+    private String[] misses;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        CompactDictionaryData data = new DictionaryLoader().load();
+        lemmas = data.getLemmas();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DictionarySnapshot.write(data, out);
+        snapshot = new SnapshotDictionaryData(ByteBuffer.wrap(out.toByteArray()),
+                EnumSet.allOf(DefinitionType.class), true);
+        map = new HashMap<>();
+        List<String> all = new ArrayList<>();
+        for (int id = 0; id < lemmas.size(); id++) {
+            map.put(lemmas.lemma(id), id);
+            all.add(lemmas.lemma(id));
+        }
+        automaton = LemmaAutomaton.build(all);
+
+        Random random = new Random(42);
+        hits = new String[SAMPLES];
+        misses = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            hits[i] = lemmas.lemma(random.nextInt(lemmas.size())).toUpperCase(Locale.ROOT);
+            misses[i] = hits[i] + "QZ";
+        }
+    }
+
+    private String next(String[] keys) {
+        next = (next + 1) & (SAMPLES - 1);
+        return keys[next].toLowerCase(Locale.ROOT);
+    }
+
+    @Benchmark
+    public int perfectHashHit() {
+        return lemmas.id(next(hits));
+    }
+
+    @Benchmark
+    public int perfectHashMiss() {
+        return lemmas.id(next(misses));
+    }
+
+    @Benchmark
+    public int snapshotHit() {
+        return snapshot.getDefinitionTypes(next(hits));
+    }
+
+    @Benchmark
+    public int snapshotMiss() {
+        return snapshot.getDefinitionTypes(next(misses));
+    }
+
+    @Benchmark
+    public int automatonHit() {
+        return automaton.id(next(hits));
+    }
+
+    @Benchmark
+    public int automatonMiss() {
+        return automaton.id(next(misses));
+    }
+
+    @Benchmark
+    public Integer hashMapHit() {
+        return map.get(next(hits));
+    }
+
+    @Benchmark
+    public Integer hashMapMiss() {
+        return map.get(next(misses));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures walking the WordNet pointers from every definition of a word: its direct hypernyms, the closure of its
+ * hypernyms up to the root of each hierarchy, and the hyponyms two levels down. Also measures expanding the word to
+ * the first hundred words within two hops of synonyms and related words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RelationBenchmark {
+    @Param({"dog", "run"})
+    private String word;
+
+    private WordDictionary wordDictionary;
+
+    @Setup
+    public void setUp() {
+        wordDictionary = WordDictionaries.builder().build();
+        wordDictionary.lookup(word);
+    }
+
+    @Benchmark
+    public Set<String> hypernyms() {
+        return wordDictionary.getHypernyms(word);
+    }
+
+    @Benchmark
+    public Set<String> hypernymClosure() {
+        return wordDictionary.getRelated(word, PointerType.HYPERNYM, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Set<String> hyponyms() {
+        return wordDictionary.getRelated(word, PointerType.HYPONYM, 2);
+    }
+
+    @Benchmark
+    public Map<String, Integer> expand() {
+        return wordDictionary.expand(word, 2, 100);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the similarity of a pair of words by each measure, and the Wu-Palmer similarity matrix of the two hundred
+ * words with the most senses starting with the first letter of the pair, standing in for a list of candidate synonyms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimilarityBenchmark {
+    @Param({"dog,cat", "run,walk"})
+    private String pair;
+
+    private WordDictionary wordDictionary;
+    private String first;
+    private String second;
+    private List<String> candidates;
+
+    @Setup
+    public void setUp() {
+        wordDictionary = WordDictionaries.builder().build();
+        first = pair.substring(0, pair.indexOf(','));
+        second = pair.substring(pair.indexOf(',') + 1);
+        candidates = new ArrayList<>(wordDictionary.autocomplete(first.substring(0, 1), 200));
+        wordDictionary.similarity(first, second, SimilarityMeasure.PATH);
+    }
+
+    @Benchmark
+    public double path() {
+        return wordDictionary.pathSimilarity(first, second);
+    }
+
+    @Benchmark
+    public double wuPalmer() {
+        return wordDictionary.wuPalmerSimilarity(first, second);
+    }
+
+    @Benchmark
+    public double leacockChodorow() {
+        return wordDictionary.leacockChodorowSimilarity(first, second);
+    }
+
+    @Benchmark
+    public double[][] matrix() {
+        return wordDictionary.similarityMatrix(candidates);
+    }
+}
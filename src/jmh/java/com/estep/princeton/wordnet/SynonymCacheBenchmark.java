@@ -0,0 +1,88 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures querying the synonyms of words drawn from a Zipf distribution over every word of the dictionary, the way
+ * the words of a document are distributed, with and without the synonym cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SynonymCacheBenchmark {
+    private static final int QUERY_COUNT = 1 << 20;
+
+    @Param({"0", "4096", "32768"})
+    private int synonymCacheSize;
+
+    @Param({"false", "true"})
+    private boolean includeSupplemental;
+
+    private WordDictionary wordDictionary;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        wordDictionary = WordDictionaries.builder()
+                .synonymCacheSize(synonymCacheSize)
+                .build();
+        List<String> words = new ArrayList<>(new TreeSet<>(wordDictionary.getAllWords()));
+        Collections.shuffle(words, new Random(1));
+
+        // the word of rank r is queried in proportion to 1 / r
+        double[] cumulative = new double[words.size()];
+        double sum = 0;
+        for (int rank = 0; rank < cumulative.length; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulative[rank] = sum;
+        }
+        Random random = new Random(2);
+        queries = new String[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            queries[i] = words.get(rank < 0 ? -rank - 1 : rank);
+        }
+    }
+
+    @Benchmark
+    public Map<DefinitionType, Set<String>> zipfSynonyms() {
+        String word = queries[next++ & (QUERY_COUNT - 1)];
+        return wordDictionary.getSynonyms(word, includeSupplemental);
+    }
+}
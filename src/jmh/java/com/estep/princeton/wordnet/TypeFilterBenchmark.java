@@ -0,0 +1,86 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the synonym and related word queries filtered by definition type for words with many synonyms, such as
+ * "run" and "set". The filtering tests the definition type bitmask of each candidate word. The lookup benchmark
+ * filters the same candidates the way they were filtered before the bitmask existed, by looking up every candidate
+ * and searching its definitions once for each type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeFilterBenchmark {
+    private static final DefinitionType[] TYPES = {DefinitionType.VERB, DefinitionType.ADJECTIVE};
+
+    @Param({"run", "set"})
+    private String word;
+
+    private WordDictionary wordDictionary;
+
+    @Setup
+    public void setUp() {
+        wordDictionary = WordDictionaries.builder().build();
+        wordDictionary.lookup(word);
+    }
+
+    @Benchmark
+    public Set<String> synonyms() {
+        return wordDictionary.getAllSynonyms(word, true, TYPES);
+    }
+
+    @Benchmark
+    public Set<String> synonymsByLookup() {
+        Set<String> words = new HashSet<>(wordDictionary.getAllSynonyms(word, true));
+        Set<String> removeWords = new HashSet<>();
+        for (String candidate : words) {
+            Word wrd = wordDictionary.lookup(candidate);
+            if (wrd == null) {
+                removeWords.add(candidate);
+                continue;
+            }
+            for (DefinitionType type : TYPES) {
+                if (wrd.getDefinitions().stream().noneMatch(d -> d.getDefinitionType() == type)) {
+                    removeWords.add(wrd.getWord());
+                }
+            }
+        }
+        words.removeAll(removeWords);
+        return words;
+    }
+
+    @Benchmark
+    public Set<String> related() {
+        return wordDictionary.getAllRelated(word, TYPES);
+    }
+}
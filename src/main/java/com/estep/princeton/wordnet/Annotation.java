@@ -0,0 +1,128 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A span of a document annotated by a {@link TextAnnotator}: a token of the document resolved to a word in the
+ * {@link WordDictionary}, along with the synonyms of the word.
+ */
+public class Annotation {
+    private final long document;
+    private final int start;
+    private final int end;
+    private final String token;
+    private final String word;
+    private final DefinitionType partOfSpeech;
+    private final Map<DefinitionType, Set<String>> synonyms;
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param document     the position of the document in the annotated documents, starting at zero.
+     * @param start        the offset of the first character of the token in the document.
+     * @param end          the offset after the last character of the token in the document.
+     * @param token        the token as it occurs in the document.
+     * @param word         the word in the dictionary the token resolves to.
+     * @param partOfSpeech the definition type the token is tagged as, or null if the tokens are not tagged.
+     * @param synonyms     the synonyms of the word broken up by definition type.
+     */
+    public Annotation(long document, int start, int end, String token, String word, DefinitionType partOfSpeech,
+                      Map<DefinitionType, Set<String>> synonyms) {
+        this.document = document;
+        this.start = start;
+        this.end = end;
+        this.token = token;
+        this.word = word;
+        this.partOfSpeech = partOfSpeech;
+        this.synonyms = Collections.unmodifiableMap(synonyms);
+    }
+
+    /**
+     * Returns the position of the document in the annotated documents, starting at zero.
+     *
+     * @return the document position.
+     */
+    public long getDocument() {
+        return document;
+    }
+
+    /**
+     * Returns the offset of the first character of the token in the document.
+     *
+     * @return the start offset.
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the offset after the last character of the token in the document.
+     *
+     * @return the end offset.
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the token as it occurs in the document.
+     *
+     * @return the token.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Returns the word in the dictionary the token resolves to, which is the base form of the token when the token
+     * is an inflected form, such as "run" for "running".
+     *
+     * @return the word.
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Returns the definition type the token is tagged as in the document.
+     *
+     * @return the definition type or null if the tokens are not tagged.
+     */
+    public DefinitionType getPartOfSpeech() {
+        return partOfSpeech;
+    }
+
+    /**
+     * Returns the synonyms of the word broken up by definition type.
+     *
+     * @return the map or empty map if none exist.
+     */
+    public Map<DefinitionType, Set<String>> getSynonyms() {
+        return synonyms;
+    }
+
+    @Override
+    public String toString() {
+        return "document=" + document
+                + ", start=" + start
+                + ", end=" + end
+                + ", token=" + token
+                + ", word=" + word
+                + ", partOfSpeech=" + partOfSpeech
+                + ", synonyms=" + synonyms;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * A thread safe cache which holds at most a fixed number of entries, evicting the least recently used entry once
+ * full. A cache with a maximum size of zero holds nothing and computes every value. A null value is never cached.
+ * </p>
+ * <p>
+ * A large cache is split in to stripes by the hash of the keys, each holding an equal share of the entries behind its
+ * own lock, so threads querying different keys rarely wait on each other. The least recently used entry is then
+ * evicted from the stripe of the new entry, which approximates evicting the least recently used entry of the cache.
+ * The hits, misses, and evictions are counted without locking.
+ * </p>
+ *
+ * @param <K> the type of key.
+ * @param <V> the type of value.
+ */
+class BoundedCache<K, V> {
+    /**
+     * The least number of entries a stripe holds, so a small cache stays one exact least recently used list.
+     */
+    private static final int MINIMUM_STRIPE_SIZE = 256;
+    private static final int MAXIMUM_STRIPES = 16;
+
+    private final int maximumSize;
+    private final Map<K, V>[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param maximumSize the maximum number of entries to hold.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    BoundedCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("the maximum size cannot be negative");
+        }
+        this.maximumSize = maximumSize;
+        int count = Math.min(MAXIMUM_STRIPES, Math.max(1, Integer.highestOneBit(maximumSize / MINIMUM_STRIPE_SIZE)));
+        this.stripes = new Map[count];
+        for (int i = 0; i < count; i++) {
+            // the first stripes hold the remainder, so the stripes add up to the maximum size
+            int stripeSize = maximumSize / count + (i < maximumSize % count ? 1 : 0);
+            stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    if (size() > stripeSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns the cached value of the supplied key, computing and caching the value when it is not cached. The value
+     * is computed outside of the stripe's lock, so two threads may compute the same value at the same time.
+     *
+     * @param key    the key.
+     * @param loader computes the value of a key which is not cached.
+     * @return the value, which is null when the loader returns null.
+     */
+    V get(K key, Function<? super K, ? extends V> loader) {
+        if (maximumSize == 0) {
+            return loader.apply(key);
+        }
+
+        Map<K, V> entries = stripe(key);
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns true if this cache holds any entries, that is its maximum size is not zero.
+     *
+     * @return true if enabled.
+     */
+    boolean isEnabled() {
+        return maximumSize > 0;
+    }
+
+    /**
+     * Returns the number of entries currently cached.
+     *
+     * @return the number of entries.
+     */
+    int size() {
+        int size = 0;
+        for (Map<K, V> entries : stripes) {
+            synchronized (entries) {
+                size += entries.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the counts of the hits, misses, and evictions since this cache was created, along with its size.
+     *
+     * @return the statistics.
+     */
+    CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size(), maximumSize);
+    }
+
+    private Map<K, V> stripe(K key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+/**
+ * The statistics of one of the caches of a {@link WordDictionary}: how often a query was answered from the cache,
+ * how often it was computed, and how many entries were evicted to make room for others. The counts are since the
+ * dictionary was created.
+ */
+public class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+    private final int maximumSize;
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param hitCount      the number of queries answered from the cache.
+     * @param missCount     the number of queries which were computed and then cached.
+     * @param evictionCount the number of entries evicted.
+     * @param size          the number of entries currently cached.
+     * @param maximumSize   the maximum number of entries the cache holds.
+     */
+    public CacheStats(long hitCount, long missCount, long evictionCount, int size, int maximumSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the number of queries answered from the cache.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of queries which were not cached and were computed.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for others.
+     *
+     * @return the eviction count.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of entries currently cached.
+     *
+     * @return the size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of entries the cache holds.
+     *
+     * @return the maximum size or zero if the cache is disabled.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the fraction of the queries answered from the cache.
+     *
+     * @return the hit rate, or zero if nothing was queried.
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "hitCount=" + hitCount
+                + ", missCount=" + missCount
+                + ", evictionCount=" + evictionCount
+                + ", size=" + size
+                + ", maximumSize=" + maximumSize;
+    }
+}
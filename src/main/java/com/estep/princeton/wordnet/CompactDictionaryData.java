@@ -0,0 +1,793 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * Dictionary data held in memory as primitive arrays. Every lemma, whether a WordNet lemma or a word of the
+ * additional datasets, is stored once within a {@link LemmaStore}, a {@link LemmaTable} unless another store is
+ * supplied, and is referenced everywhere else by its int id. Every synset is stored once, as its definition type,
+ * offset, gloss, and the ids of its member lemmas. A gloss which is not kept on the heap is read from the
+ * {@link GlossSource} of the synset's definition type. The definition types of each lemma are kept as a bitmask so
+ * that queries filtered by type do not look the words up.
+ * </p>
+ * <p>
+ * The relations are held in compressed sparse row form: for a relation from ids to ids, an int array of start
+ * positions indexed by the source id and an int array of targets, where the targets of source {@code i} are found
+ * between {@code start[i]} and {@code start[i + 1]}. The relations are the member lemmas of each synset, the synsets
+ * each lemma is the head of, the synsets each lemma is a member of, and the additional synonyms and related words of
+ * each lemma. The pointers between synsets are held the same way as a {@link PointerGraph}, and a pointer to a synset
+ * which was not loaded is dropped.
+ * </p>
+ * <p>
+ * The {@link Word}, {@link Definition}, and {@link Synset} instances are views created from the arrays as they are
+ * looked up. A word's definitions are the synsets the word is the head lemma of, in the order the synsets were
+ * supplied. When members are indexed, a word's definitions are instead every synset the word is a member of, so a
+ * lemma listed after the head of a synset is also a word, and the words are keyed by the member index alone.
+ * </p>
+ */
+class CompactDictionaryData implements DictionaryData {
+    private static final DefinitionType[] TYPES = DefinitionType.values();
+
+    private final LemmaStore lemmas;
+    private final byte[] synsetTypes;
+    private final int[] synsetOffsets;
+    private final int[] synsetLemmaStart;
+    private final int[] synsetLemmas;
+    private final DataFileParser.Gloss[] glosses;
+    private final GlossSource[] glossSources;
+    private final int[] headedStart;
+    private final int[] headed;
+    private final byte[] lemmaTypes;
+    private final int[] memberStart;
+    private final int[] members;
+    private final int[][] synsetsByOffset;
+    private final PointerGraph pointers;
+    private final int[] additionalSynonymStart;
+    private final int[] additionalSynonyms;
+    private final int[] additionalRelatedStart;
+    private final int[] additionalRelated;
+    private final Set<String> allWords;
+    private volatile LemmaAutomaton fuzzyIndex;
+    private volatile Taxonomy taxonomy;
+    private volatile GlossIndex glossIndex;
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param synsets            the wordnet synsets in the order each word's definitions are listed.
+     * @param additionalSynonyms the synonyms from the additional sources keyed by the word.
+     * @param additionalRelated  the related words keyed by the word.
+     */
+    CompactDictionaryData(List<Synset> synsets, Map<String, Set<String>> additionalSynonyms,
+                          Map<String, Set<String>> additionalRelated) {
+        this(synsets, additionalSynonyms, additionalRelated, LemmaTable::new, false);
+    }
+
+    /**
+     * Creates an instance of this class which stores the lemmas in the store created by the supplied function.
+     *
+     * @param synsets            the wordnet synsets in the order each word's definitions are listed.
+     * @param additionalSynonyms the synonyms from the additional sources keyed by the word.
+     * @param additionalRelated  the related words keyed by the word.
+     * @param lemmaStore         creates the store of the supplied lemmas, which may contain duplicates.
+     * @param indexMembers       supply true to make every member lemma of a synset a word defined by the synset,
+     *                           rather than only the head lemma.
+     */
+    CompactDictionaryData(List<Synset> synsets, Map<String, Set<String>> additionalSynonyms,
+                          Map<String, Set<String>> additionalRelated,
+                          Function<Collection<String>, LemmaStore> lemmaStore, boolean indexMembers) {
+        List<String> all = new ArrayList<>();
+        synsets.forEach(synset -> all.addAll(synset.getLemmas()));
+        addAll(additionalSynonyms, all);
+        addAll(additionalRelated, all);
+        lemmas = lemmaStore.apply(all);
+        Map<String, Integer> ids = new HashMap<>(lemmas.size() * 4 / 3 + 1);
+        for (int id = 0; id < lemmas.size(); id++) {
+            ids.put(lemmas.lemma(id), id);
+        }
+
+        int count = synsets.size();
+        synsetTypes = new byte[count];
+        synsetOffsets = new int[count];
+        synsetLemmaStart = new int[count + 1];
+        glosses = new DataFileParser.Gloss[count];
+        IntList lemmaIds = new IntList();
+        IntList heads = new IntList(count);
+        IntList memberSources = new IntList();
+        IntList memberTargets = new IntList();
+        glossSources = new GlossSource[TYPES.length];
+        for (int i = 0; i < count; i++) {
+            Synset synset = synsets.get(i);
+            synsetTypes[i] = (byte) synset.getType().ordinal();
+            synsetOffsets[i] = synset.getOffset();
+            synsetLemmaStart[i] = lemmaIds.size();
+            List<String> synsetLemmas = synset.getLemmas();
+            for (int j = 0; j < synsetLemmas.size(); j++) {
+                int id = ids.get(synsetLemmas.get(j));
+                lemmaIds.add(id);
+                if (synsetLemmas.indexOf(synsetLemmas.get(j)) == j) {
+                    // a lemma listed twice within the synset is only a member once
+                    memberSources.add(id);
+                    memberTargets.add(i);
+                }
+            }
+            heads.add(ids.get(synset.getHead()));
+            glosses[i] = synset.getResidentGloss();
+            if (synset.getGlossSource() != null) {
+                glossSources[synset.getType().ordinal()] = synset.getGlossSource();
+            }
+        }
+        synsetLemmaStart[count] = lemmaIds.size();
+        synsetLemmas = lemmaIds.toArray();
+
+        memberStart = new int[lemmas.size() + 1];
+        members = group(memberSources.toArray(), memberTargets.toArray(), memberStart);
+        if (indexMembers) {
+            // every member is a word, so the words share the member index
+            headedStart = memberStart;
+            headed = members;
+        } else {
+            headedStart = new int[lemmas.size() + 1];
+            headed = group(heads.toArray(), IntStream.range(0, count).toArray(), headedStart);
+        }
+        lemmaTypes = new byte[lemmas.size()];
+        for (int id = 0; id < lemmas.size(); id++) {
+            for (int i = headedStart[id]; i < headedStart[id + 1]; i++) {
+                lemmaTypes[id] |= (byte) TYPES[synsetTypes[headed[i]]].mask();
+            }
+        }
+
+        synsetsByOffset = new int[TYPES.length][];
+        for (DefinitionType type : TYPES) {
+            synsetsByOffset[type.ordinal()] = IntStream.range(0, count)
+                    .filter(i -> synsetTypes[i] == type.ordinal())
+                    .boxed()
+                    .sorted(Comparator.comparingInt(i -> synsetOffsets[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        pointers = pointers(synsets);
+
+        additionalSynonymStart = new int[lemmas.size() + 1];
+        this.additionalSynonyms = group(additionalSynonyms, ids, additionalSynonymStart);
+        additionalRelatedStart = new int[lemmas.size() + 1];
+        this.additionalRelated = group(additionalRelated, ids, additionalRelatedStart);
+        allWords = new WordSet();
+    }
+
+    /**
+     * Resolves the target of each pointer of the supplied synsets and groups the pointers by their synset, sorted by
+     * their pointer type.
+     *
+     * @param synsets the synsets, in the order of their indexes.
+     * @return the pointer graph.
+     */
+    private PointerGraph pointers(List<Synset> synsets) {
+        IntList sources = new IntList();
+        IntList pointerTypes = new IntList();
+        IntList targets = new IntList();
+        IntList words = new IntList();
+        for (int i = 0; i < synsets.size(); i++) {
+            for (long pointer : synsets.get(i).getPointers()) {
+                int target = synsetIndex(Synset.targetType(pointer), Synset.targetOffset(pointer));
+                if (target >= 0) {
+                    sources.add(i);
+                    pointerTypes.add(Synset.pointerType(pointer).ordinal());
+                    targets.add(target);
+                    words.add(Synset.sourceWord(pointer) << 8 | Synset.targetWord(pointer));
+                }
+            }
+        }
+
+        // order the pointers by their type so that grouping them by synset keeps each synset's pointers sorted
+        int[] byType = IntStream.range(0, sources.size())
+                .boxed()
+                .sorted(Comparator.comparingInt(pointerTypes::get))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] start = new int[synsets.size() + 1];
+        int[] grouped = group(Arrays.stream(byType).map(sources::get).toArray(), byType, start);
+
+        byte[] groupedTypes = new byte[grouped.length];
+        int[] groupedTargets = new int[grouped.length];
+        byte[] groupedSources = new byte[grouped.length];
+        byte[] groupedTargetWords = new byte[grouped.length];
+        for (int p = 0; p < grouped.length; p++) {
+            groupedTypes[p] = (byte) pointerTypes.get(grouped[p]);
+            groupedTargets[p] = targets.get(grouped[p]);
+            groupedSources[p] = (byte) (words.get(grouped[p]) >>> 8);
+            groupedTargetWords[p] = (byte) words.get(grouped[p]);
+        }
+        return new PointerGraph(IntBuffer.wrap(start), ByteBuffer.wrap(groupedTypes), IntBuffer.wrap(groupedTargets),
+                ByteBuffer.wrap(groupedSources), ByteBuffer.wrap(groupedTargetWords), ByteBuffer.wrap(synsetTypes),
+                DefinitionType.mask(TYPES));
+    }
+
+    private static void addAll(Map<String, Set<String>> words, List<String> all) {
+        words.forEach((word, set) -> {
+            all.add(word);
+            all.addAll(set);
+        });
+    }
+
+    /**
+     * Groups the supplied pairs by their source in to compressed sparse row form. The targets of each source keep
+     * the order they are supplied in.
+     *
+     * @param sources the source id of each pair.
+     * @param targets the target of each pair.
+     * @param start   populated with the start of each source's targets.
+     * @return the targets grouped by source.
+     */
+    private static int[] group(int[] sources, int[] targets, int[] start) {
+        for (int source : sources) {
+            start[source + 1]++;
+        }
+        for (int i = 1; i < start.length; i++) {
+            start[i] += start[i - 1];
+        }
+
+        int[] grouped = new int[targets.length];
+        int[] next = Arrays.copyOf(start, start.length - 1);
+        for (int i = 0; i < sources.length; i++) {
+            grouped[next[sources[i]]++] = targets[i];
+        }
+        return grouped;
+    }
+
+    private static int[] group(Map<String, Set<String>> words, Map<String, Integer> ids, int[] start) {
+        IntList sources = new IntList();
+        IntList targets = new IntList();
+        words.forEach((word, set) -> set.forEach(w -> {
+            sources.add(ids.get(word));
+            targets.add(ids.get(w));
+        }));
+        return group(sources.toArray(), targets.toArray(), start);
+    }
+
+    @Override
+    public Set<String> getAllWords() {
+        return allWords;
+    }
+
+    @Override
+    public Word lookup(String word) {
+        int id = lemmas.id(word);
+        if (id < 0 || headedStart[id] == headedStart[id + 1]) {
+            return null;
+        }
+
+        List<Definition> definitions = new ArrayList<>(headedStart[id + 1] - headedStart[id]);
+        for (int i = headedStart[id]; i < headedStart[id + 1]; i++) {
+            definitions.add(new SynsetDefinition(synset(headed[i]), word));
+        }
+        Word entry = new Word(word);
+        entry.setDefinitions(Collections.unmodifiableList(definitions));
+        return entry;
+    }
+
+    @Override
+    public int getDefinitionTypes(String word) {
+        int id = lemmas.id(word);
+        return id < 0 ? 0 : lemmaTypes[id];
+    }
+
+    @Override
+    public List<String> autocomplete(String prefix, int limit, int types) {
+        byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[] end = Completions.end(key);
+        int last = end == null ? lemmas.size() : lemmas.rank(end);
+
+        Completions completions = new Completions(limit);
+        for (int id = lemmas.rank(key); id < last; id++) {
+            int senses = senses(id, types);
+            if (senses > 0) {
+                completions.offer(id, senses);
+            }
+        }
+        return lemmas(completions);
+    }
+
+    @Override
+    public List<String> suggest(String word, int maxEdits, int limit, int types) {
+        Completions completions = new Completions(limit);
+        fuzzyIndex().match(word.getBytes(StandardCharsets.UTF_8), maxEdits, (id, distance) -> {
+            int senses = senses(id, types);
+            if (senses > 0) {
+                completions.offer(id, Completions.score(maxEdits - distance, senses));
+            }
+        });
+        return lemmas(completions);
+    }
+
+    /**
+     * Returns the automaton of the lemmas which the spelling suggestions walk. When the lemmas are not already stored
+     * in an automaton, the automaton compiled at build time is mapped on the first suggestion if it holds the same
+     * lemmas, and otherwise one is built. Since the lemmas are sorted the same way in both stores, the ids of the
+     * automaton are the lemma ids.
+     *
+     * @return the automaton.
+     */
+    private LemmaAutomaton fuzzyIndex() {
+        if (lemmas instanceof LemmaAutomaton) {
+            return (LemmaAutomaton) lemmas;
+        }
+        LemmaAutomaton index = fuzzyIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = fuzzyIndex;
+                if (index == null) {
+                    List<String> sorted = new ArrayList<>(lemmas.size());
+                    for (int id = 0; id < lemmas.size(); id++) {
+                        sorted.add(lemmas.lemma(id));
+                    }
+                    index = LemmaAutomaton.load(sorted);
+                    fuzzyIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of synsets of the supplied definition types the lemma with the supplied id is the head of.
+     *
+     * @param id    the lemma id.
+     * @param types the bitmask of the definition types.
+     * @return the number of senses.
+     */
+    private int senses(int id, int types) {
+        if ((lemmaTypes[id] & types) == 0) {
+            return 0;
+        }
+        int senses = 0;
+        for (int i = headedStart[id]; i < headedStart[id + 1]; i++) {
+            if ((TYPES[synsetTypes[headed[i]]].mask() & types) != 0) {
+                senses++;
+            }
+        }
+        return senses;
+    }
+
+    @Override
+    public Set<String> getRelated(String word, PointerType pointerType, int depth, int types) {
+        Set<String> related = new LinkedHashSet<>();
+        int id = lemmas.id(word);
+        if (id < 0 || headedStart[id] == headedStart[id + 1]) {
+            return related;
+        }
+
+        int[] starts = new int[headedStart[id + 1] - headedStart[id]];
+        for (int i = 0; i < starts.length; i++) {
+            int synset = headed[headedStart[id] + i];
+            starts[i] = PointerGraph.state(synset, wordNumber(synset, id));
+        }
+        pointers.walk(starts, pointerType, depth, (synset, number) -> {
+            if ((TYPES[synsetTypes[synset]].mask() & types) == 0) {
+                return;
+            }
+            int first = synsetLemmaStart[synset];
+            int last = synsetLemmaStart[synset + 1];
+            if (number > 0) {
+                first += number - 1;
+                last = Math.min(last, first + 1);
+            }
+            for (int i = first; i < last; i++) {
+                if (synsetLemmas[i] != id) {
+                    related.add(lemmas.lemma(synsetLemmas[i]));
+                }
+            }
+        });
+        return related;
+    }
+
+    @Override
+    public Map<String, Integer> expand(String word, int maxHops, int maxResults, int types) {
+        int start = lemmas.id(word);
+        if (start < 0 || lemmaTypes[start] == 0) {
+            return new LinkedHashMap<>();
+        }
+
+        boolean filtered = types != DefinitionType.mask(TYPES);
+        return WordExpansion.expand(start, lemmas.size(), maxHops, maxResults, (id, sink) -> {
+            for (int i = headedStart[id]; i < headedStart[id + 1]; i++) {
+                int synset = headed[i];
+                if ((TYPES[synsetTypes[synset]].mask() & types) == 0) {
+                    continue;
+                }
+                for (int j = synsetLemmaStart[synset]; j < synsetLemmaStart[synset + 1]; j++) {
+                    if (synsetLemmas[j] != id && !sink.test(synsetLemmas[j])) {
+                        return;
+                    }
+                }
+            }
+            if (expand(id, additionalSynonymStart, additionalSynonyms, filtered, types, sink)) {
+                expand(id, additionalRelatedStart, additionalRelated, filtered, types, sink);
+            }
+        }, lemmas::lemma);
+    }
+
+    /**
+     * Passes the additional words of the supplied lemma, from the supplied relation, to the supplied sink.
+     *
+     * @param id       the lemma id.
+     * @param start    the start of each lemma's words.
+     * @param targets  the words.
+     * @param filtered supply true to only pass the words which have one of the supplied definition types.
+     * @param types    the bitmask of the definition types.
+     * @param sink     receives the id of each word and returns false to stop.
+     * @return false if the sink stopped.
+     */
+    private boolean expand(int id, int[] start, int[] targets, boolean filtered, int types, IntPredicate sink) {
+        for (int i = start[id]; i < start[id + 1]; i++) {
+            int target = wordId(targets[i]);
+            if ((!filtered || (lemmaTypes[target] & types) != 0) && !sink.test(target)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the id of the lower case word of the supplied lemma, when the lemma is not itself a word.
+     *
+     * @param id the lemma id.
+     * @return the id of the word or the supplied id.
+     */
+    private int wordId(int id) {
+        if (lemmaTypes[id] != 0) {
+            return id;
+        }
+        String lemma = lemmas.lemma(id);
+        String lowerCase = lemma.toLowerCase(Locale.ROOT);
+        if (lowerCase.equals(lemma)) {
+            return id;
+        }
+        int word = lemmas.id(lowerCase);
+        return word >= 0 && lemmaTypes[word] != 0 ? word : id;
+    }
+
+    @Override
+    public int[] getSynsets(String word, int types) {
+        int id = lemmas.id(word);
+        if (id < 0) {
+            return new int[0];
+        }
+        return Arrays.stream(headed, headedStart[id], headedStart[id + 1])
+                .filter(synset -> (TYPES[synsetTypes[synset]].mask() & types) != 0)
+                .toArray();
+    }
+
+    @Override
+    public Taxonomy getTaxonomy() {
+        Taxonomy built = taxonomy;
+        if (built == null) {
+            synchronized (this) {
+                built = taxonomy;
+                if (built == null) {
+                    built = new Taxonomy(pointers);
+                    taxonomy = built;
+                }
+            }
+        }
+        return built;
+    }
+
+    @Override
+    public List<Definition> searchDefinitions(String query, int limit, int types) {
+        List<Definition> found = new ArrayList<>();
+        IntPredicate typed = synset -> (TYPES[synsetTypes[synset]].mask() & types) != 0;
+        for (int synset : getGlossIndex().search(query, limit, typed)) {
+            found.add(new SynsetDefinition(synset(synset)));
+        }
+        return found;
+    }
+
+    @Override
+    public GlossIndex getGlossIndex() {
+        GlossIndex index = glossIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = glossIndex;
+                if (index == null) {
+                    index = new GlossIndex(synsetTypes.length, this::glossText);
+                    glossIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the definition and usages of the synset at the supplied index as one text.
+     *
+     * @param index the synset index.
+     * @return the text.
+     */
+    private String glossText(int index) {
+        DataFileParser.Gloss gloss = glosses[index];
+        if (gloss == null) {
+            gloss = glossSources[synsetTypes[index]].read(TYPES[synsetTypes[index]], synsetOffsets[index]);
+        }
+        StringBuilder text = new StringBuilder(gloss.getDefinition());
+        gloss.getUsages().forEach(usage -> text.append(' ').append(usage));
+        return text.toString();
+    }
+
+    /**
+     * Returns the number of the supplied lemma within the supplied synset, starting at one.
+     *
+     * @param synset the synset index.
+     * @param id     the lemma id.
+     * @return the word number or zero if the lemma is not a member of the synset.
+     */
+    private int wordNumber(int synset, int id) {
+        for (int i = synsetLemmaStart[synset]; i < synsetLemmaStart[synset + 1]; i++) {
+            if (synsetLemmas[i] == id) {
+                return i - synsetLemmaStart[synset] + 1;
+            }
+        }
+        return 0;
+    }
+
+    private List<String> lemmas(Completions completions) {
+        List<String> words = new ArrayList<>();
+        for (int id : completions.indexes()) {
+            words.add(lemmas.lemma(id));
+        }
+        return words;
+    }
+
+    @Override
+    public Set<String> getAdditionalSynonyms(String word) {
+        return words(lemmas.id(word), additionalSynonymStart, additionalSynonyms);
+    }
+
+    @Override
+    public Set<String> getAdditionalRelated(String word) {
+        return words(lemmas.id(word), additionalRelatedStart, additionalRelated);
+    }
+
+    /**
+     * Decodes the lemmas related to the supplied id.
+     *
+     * @param id      the lemma id or -1 if the lemma is not in the table.
+     * @param start   the start of each lemma's related lemmas.
+     * @param targets the related lemma ids.
+     * @return the set of lemmas or null if none exist.
+     */
+    private Set<String> words(int id, int[] start, int[] targets) {
+        if (id < 0 || start[id] == start[id + 1]) {
+            return null;
+        }
+
+        Set<String> set = new HashSet<>();
+        for (int i = start[id]; i < start[id + 1]; i++) {
+            set.add(lemmas.lemma(targets[i]));
+        }
+        return set;
+    }
+
+    /**
+     * Returns every synset the supplied lemma is a member of, whether as the head lemma or as a synonym.
+     *
+     * @param lemma the lower case lemma.
+     * @return the synsets or an empty list if the lemma is not a member of any synset.
+     */
+    List<Synset> getSynsets(String lemma) {
+        int id = lemmas.id(lemma);
+        if (id < 0) {
+            return Collections.emptyList();
+        }
+
+        List<Synset> synsets = new ArrayList<>(memberStart[id + 1] - memberStart[id]);
+        for (int i = memberStart[id]; i < memberStart[id + 1]; i++) {
+            synsets.add(synset(members[i]));
+        }
+        return synsets;
+    }
+
+    /**
+     * Returns the synset found at the supplied offset of the data file of the supplied type.
+     *
+     * @param type   the definition type.
+     * @param offset the byte offset of the synset's line within the data file.
+     * @return the synset or null if not found.
+     */
+    Synset getSynset(DefinitionType type, int offset) {
+        int index = synsetIndex(type, offset);
+        return index < 0 ? null : synset(index);
+    }
+
+    /**
+     * Returns the index of the synset found at the supplied offset of the data file of the supplied type.
+     *
+     * @param type   the definition type.
+     * @param offset the byte offset of the synset's line within the data file.
+     * @return the synset index or -1 if not found.
+     */
+    int synsetIndex(DefinitionType type, int offset) {
+        int[] sorted = synsetsByOffset[type.ordinal()];
+        int low = 0;
+        int high = sorted.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int rc = Integer.compare(synsetOffsets[sorted[mid]], offset);
+            if (rc < 0) {
+                low = mid + 1;
+            } else if (rc > 0) {
+                high = mid - 1;
+            } else {
+                return sorted[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the pointers between the synsets, which are indexed the same way as {@link #synsetIndex(DefinitionType,
+     * int)}.
+     *
+     * @return the pointer graph.
+     */
+    PointerGraph getPointers() {
+        return pointers;
+    }
+
+    /**
+     * Returns the synsets of the supplied type ordered by their offset.
+     *
+     * @param type the definition type.
+     * @return the synsets.
+     */
+    List<Synset> getSynsets(DefinitionType type) {
+        int[] sorted = synsetsByOffset[type.ordinal()];
+        List<Synset> synsets = new ArrayList<>(sorted.length);
+        for (int index : sorted) {
+            synsets.add(synset(index));
+        }
+        return synsets;
+    }
+
+    /**
+     * Decodes the additional synonyms of every word.
+     *
+     * @return the synonyms from the additional sources keyed by the word.
+     */
+    Map<String, Set<String>> getAdditionalSynonyms() {
+        return words(additionalSynonymStart, additionalSynonyms);
+    }
+
+    /**
+     * Decodes the related words of every word.
+     *
+     * @return the related words keyed by the word.
+     */
+    Map<String, Set<String>> getAdditionalRelated() {
+        return words(additionalRelatedStart, additionalRelated);
+    }
+
+    private Map<String, Set<String>> words(int[] start, int[] targets) {
+        Map<String, Set<String>> map = new TreeMap<>();
+        for (int id = 0; id < lemmas.size(); id++) {
+            Set<String> set = words(id, start, targets);
+            if (set != null) {
+                map.put(lemmas.lemma(id), set);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Returns the store of every lemma.
+     *
+     * @return the store.
+     */
+    LemmaStore getLemmas() {
+        return lemmas;
+    }
+
+    /**
+     * Creates the view of the synset with the supplied index.
+     *
+     * @param index the synset index.
+     * @return the synset.
+     */
+    private Synset synset(int index) {
+        String[] members = new String[synsetLemmaStart[index + 1] - synsetLemmaStart[index]];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = lemmas.lemma(synsetLemmas[synsetLemmaStart[index] + i]);
+        }
+        return new Synset(TYPES[synsetTypes[index]], synsetOffsets[index], List.of(members), glosses[index],
+                glossSources[synsetTypes[index]]);
+    }
+
+    /**
+     * A read only set view of the words which are the head lemma of at least one synset.
+     */
+    private class WordSet extends AbstractSet<String> {
+        private final int size = (int) IntStream.range(0, lemmas.size()).filter(this::isWord).count();
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int id = next(0);
+
+                @Override
+                public boolean hasNext() {
+                    return id < lemmas.size();
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    String word = lemmas.lemma(id);
+                    id = next(id + 1);
+                    return word;
+                }
+
+                private int next(int from) {
+                    while (from < lemmas.size() && !isWord(from)) {
+                        from++;
+                    }
+                    return from;
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String)) {
+                return false;
+            }
+            int id = lemmas.id((String) o);
+            return id >= 0 && isWord(id);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private boolean isWord(int id) {
+            return headedStart[id] != headedStart[id + 1];
+        }
+    }
+}
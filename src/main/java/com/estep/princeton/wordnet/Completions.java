@@ -0,0 +1,104 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * <p>
+ * Collects the highest scoring completions of a prefix, or the highest scoring words of any other search over the
+ * sorted words of a dictionary. The words of a dictionary are sorted by their UTF-8 bytes, so
+ * the words starting with a prefix are one range of the sorted words, from the rank of the prefix to the rank of
+ * {@link #end(byte[])}. Each word of the range is offered with its index and score, and only the best words seen so
+ * far are kept.
+ * </p>
+ * <p>
+ * The completions are ordered by descending score. Words with the same score keep their sorted order, so the ranking
+ * is stable.
+ * </p>
+ */
+final class Completions {
+    private final int limit;
+    private final PriorityQueue<Long> best = new PriorityQueue<>();
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param limit the maximum number of completions to keep.
+     */
+    Completions(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the smallest key which sorts after every key starting with the supplied prefix.
+     *
+     * @param prefix the UTF-8 bytes of the prefix.
+     * @return the end key or null if every key after the prefix starts with the prefix.
+     */
+    static byte[] end(byte[] prefix) {
+        int length = prefix.length;
+        while (length > 0 && prefix[length - 1] == (byte) 0xFF) {
+            length--;
+        }
+        if (length == 0) {
+            return null;
+        }
+
+        byte[] end = Arrays.copyOf(prefix, length);
+        end[length - 1]++;
+        return end;
+    }
+
+    /**
+     * Combines the supplied scores in to one score which ranks by the primary score and then by the secondary score.
+     *
+     * @param primary   the primary score.
+     * @param secondary the secondary score, below 65536.
+     * @return the combined score.
+     */
+    static int score(int primary, int secondary) {
+        return primary << 16 | secondary;
+    }
+
+    /**
+     * Offers the word with the supplied index. Words are offered in sorted order.
+     *
+     * @param index the index of the word within the sorted words.
+     * @param score the score of the word.
+     */
+    void offer(int index, int score) {
+        // the higher score wins and then the lower index, so the lowest entry is the worst kept completion
+        long entry = (long) score << 32 | (Integer.MAX_VALUE - index);
+        if (best.size() < limit) {
+            best.add(entry);
+        } else if (limit > 0 && entry > best.peek()) {
+            best.poll();
+            best.add(entry);
+        }
+    }
+
+    /**
+     * Returns the indexes of the kept words, best first, and empties this collector.
+     *
+     * @return the indexes.
+     */
+    int[] indexes() {
+        int[] indexes = new int[best.size()];
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            indexes[i] = Integer.MAX_VALUE - (int) (best.poll() & 0xFFFFFFFFL);
+        }
+        return indexes;
+    }
+}
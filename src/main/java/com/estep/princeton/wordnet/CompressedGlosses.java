@@ -0,0 +1,184 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <p>
+ * Holds the glosses of the synsets of one data file as deflate compressed blocks. The glosses are grouped in to blocks
+ * of {@link #BLOCK_SIZE} consecutive synsets and each block is compressed on its own, so reading a gloss only
+ * inflates the one block containing it. The glosses of each block are encoded as the UTF-8 bytes of the definition
+ * followed by the number of usages and the UTF-8 bytes of each usage, every length written as a variable length int.
+ * </p>
+ * <p>
+ * The most recently read glosses are optionally kept in a small cache.
+ * </p>
+ */
+class CompressedGlosses implements GlossSource {
+    static final int BLOCK_SIZE = 64;
+
+    private final int[] offsets;
+    private final int[] blockStart;
+    private final int[] blockLength;
+    private final byte[] blocks;
+    private final BoundedCache<Integer, DataFileParser.Gloss> cache;
+
+    /**
+     * Compresses the glosses of the supplied synsets.
+     *
+     * @param synsets   the synsets of one data file, each keeping its gloss, in the order of their offsets.
+     * @param cacheSize the number of glosses to cache or zero to inflate every time.
+     */
+    CompressedGlosses(List<Synset> synsets, int cacheSize) {
+        this.cache = new BoundedCache<>(cacheSize);
+        offsets = new int[synsets.size()];
+        int blockCount = (synsets.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        blockStart = new int[blockCount];
+        blockLength = new int[blockCount];
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        byte[] buffer = new byte[8192];
+        try {
+            for (int b = 0; b < blockCount; b++) {
+                block.reset();
+                for (int i = b * BLOCK_SIZE; i < Math.min((b + 1) * BLOCK_SIZE, synsets.size()); i++) {
+                    Synset synset = synsets.get(i);
+                    offsets[i] = synset.getOffset();
+                    DataFileParser.Gloss gloss = synset.getGloss();
+                    writeString(block, gloss.getDefinition());
+                    writeInt(block, gloss.getUsages().size());
+                    gloss.getUsages().forEach(usage -> writeString(block, usage));
+                }
+
+                blockStart[b] = compressed.size();
+                blockLength[b] = block.size();
+                deflater.reset();
+                deflater.setInput(block.toByteArray());
+                deflater.finish();
+                while (!deflater.finished()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        blocks = compressed.toByteArray();
+    }
+
+    @Override
+    public DataFileParser.Gloss read(DefinitionType type, int offset) {
+        int index = Arrays.binarySearch(offsets, offset);
+        if (index < 0) {
+            throw new IllegalArgumentException("no synset is found at offset " + offset);
+        }
+        return cache.get(index, this::inflate);
+    }
+
+    /**
+     * Returns the number of compressed bytes held.
+     *
+     * @return the number of bytes.
+     */
+    int compressedLength() {
+        return blocks.length;
+    }
+
+    /**
+     * Inflates the block containing the gloss with the supplied index and decodes the gloss.
+     *
+     * @param index the index of the synset within the data file.
+     * @return the gloss.
+     */
+    private DataFileParser.Gloss inflate(int index) {
+        int b = index / BLOCK_SIZE;
+        int end = b + 1 < blockStart.length ? blockStart[b + 1] : blocks.length;
+        byte[] block = new byte[blockLength[b]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(blocks, blockStart[b], end - blockStart[b]);
+            int length = 0;
+            while (length < block.length) {
+                length += inflater.inflate(block, length, block.length - length);
+            }
+        } catch (DataFormatException exception) {
+            throw new IllegalStateException(exception);
+        } finally {
+            inflater.end();
+        }
+
+        int[] position = new int[1];
+        for (int i = b * BLOCK_SIZE; i < index; i++) {
+            skipString(block, position);
+            int usages = readInt(block, position);
+            for (int u = 0; u < usages; u++) {
+                skipString(block, position);
+            }
+        }
+
+        String definition = readString(block, position);
+        int usageCount = readInt(block, position);
+        List<String> usages = new ArrayList<>(usageCount);
+        for (int u = 0; u < usageCount; u++) {
+            usages.add(readString(block, position));
+        }
+        return new DataFileParser.Gloss(definition, Collections.unmodifiableList(usages));
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static String readString(byte[] bytes, int[] position) {
+        int length = readInt(bytes, position);
+        String value = new String(bytes, position[0], length, StandardCharsets.UTF_8);
+        position[0] += length;
+        return value;
+    }
+
+    private static void skipString(byte[] bytes, int[] position) {
+        int length = readInt(bytes, position);
+        position[0] += length;
+    }
+
+    private static int readInt(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>
+ * Parses the lines of a Princeton WordNet data file directly from the raw bytes of the file. Each line has the form
+ * </p>
+ * <pre>
+ * offset lex_filenum ss_type w_cnt word lex_id [word lex_id...] p_cnt [ptr...] [frames...] | gloss
+ * </pre>
+ * <p>
+ * The fields are located by scanning for the separating spaces, the hexadecimal word count is decoded in place, and
+ * only the final lemma, gloss, and usage strings are created. Every lemma is passed through a {@link LemmaPool} so
+ * that each distinct lemma is one String instance. Lines starting with two spaces are the license header and are
+ * skipped.
+ * </p>
+ * <p>
+ * Each line becomes one {@link Synset}, along with its pointers to other synsets. Pointers of a symbol which is not
+ * a {@link PointerType} are skipped. When a {@link GlossReader} is supplied the gloss is not parsed at all. Each
+ * synset instead keeps only the byte offset of its line and reads its definition and usages from the data file when
+ * they are requested.
+ * </p>
+ */
+class DataFileParser {
+    private static final int WORD_COUNT = 3;
+    private static final PointerType[] POINTER_TYPES = PointerType.values();
+    private static final DefinitionType[] DEFINITION_TYPES = DefinitionType.values();
+
+    private final LemmaPool lemmas;
+    private final GlossReader glosses;
+
+    /**
+     * Creates an instance of this class which keeps every definition and usage on the heap.
+     */
+    DataFileParser() {
+        this(new LemmaPool(), null);
+    }
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param lemmas  deduplicates the lemmas.
+     * @param glosses reads the definitions and usages on demand or null to keep them on the heap.
+     */
+    DataFileParser(LemmaPool lemmas, GlossReader glosses) {
+        this.lemmas = lemmas;
+        this.glosses = glosses;
+    }
+
+    /**
+     * Parses every data line within the supplied file contents in to a synset.
+     *
+     * @param bytes the contents of the data file.
+     * @param type  the type of definition data being parsed.
+     * @return the synsets in the order of the lines.
+     */
+    List<Synset> parse(byte[] bytes, DefinitionType type) {
+        List<Synset> synsets = new ArrayList<>();
+        int start = 0;
+        while (start < bytes.length) {
+            int end = indexOf(bytes, (byte) '\n', start, bytes.length);
+            int next = end < 0 ? bytes.length : end + 1;
+            if (end < 0) {
+                end = bytes.length;
+            }
+            if (end > start && bytes[end - 1] == '\r') {
+                end--;
+            }
+
+            if (end > start && !(end - start >= 2 && bytes[start] == ' ' && bytes[start + 1] == ' ')) {
+                synsets.add(parseLine(bytes, start, end, type));
+            }
+            start = next;
+        }
+        return synsets;
+    }
+
+    /**
+     * Parses the supplied line and extracts out the key information to store.
+     *
+     * @param bytes the contents of the data file.
+     * @param start the index of the first byte of the line.
+     * @param end   the index after the last byte of the line.
+     * @param type  the type of definition data being parsed.
+     * @return the synset.
+     */
+    private Synset parseLine(byte[] bytes, int start, int end, DefinitionType type) {
+        // the offset is the byte offset of this line within the file
+        int offset = 0;
+        int idx = start;
+        for (; bytes[idx] != ' '; idx++) {
+            offset = offset * 10 + (bytes[idx] - '0');
+        }
+
+        // skip past the lex_filenum and ss_type fields to the hexadecimal word count
+        idx = start;
+        for (int field = 0; field < WORD_COUNT; field++) {
+            idx = indexOf(bytes, (byte) ' ', idx, end) + 1;
+        }
+        int wordCount = 0;
+        for (; bytes[idx] != ' '; idx++) {
+            wordCount = (wordCount << 4) + Character.digit(bytes[idx], 16);
+        }
+        idx++;
+
+        // the first word is the word being defined and the remaining words are the synonyms. each word is followed
+        // by its lex_id.
+        String[] words = new String[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            int wordEnd = indexOf(bytes, (byte) ' ', idx, end);
+            words[i] = lemmas.intern(lemma(bytes, idx, wordEnd));
+            idx = indexOf(bytes, (byte) ' ', wordEnd + 1, end) + 1;
+        }
+
+        long[] pointers = pointers(bytes, idx, end);
+        Gloss gloss = glosses == null ? gloss(bytes, idx, end) : null;
+        return new Synset(type, offset, List.of(words), gloss, glosses, pointers);
+    }
+
+    /**
+     * Parses the pointers which follow the words of a line. The decimal pointer count is followed by each pointer in
+     * the form
+     * <pre>
+     * pointer_symbol synset_offset pos source/target
+     * </pre>
+     * where source/target is two hexadecimal word numbers, both zero when the pointer is between the whole synsets.
+     *
+     * @param bytes the contents of the data file.
+     * @param start the index of the pointer count.
+     * @param end   the index after the last byte of the line.
+     * @return the packed pointers.
+     * @see Synset#pointer(PointerType, DefinitionType, int, int, int)
+     */
+    private static long[] pointers(byte[] bytes, int start, int end) {
+        int idx = start;
+        int count = 0;
+        for (; idx < end && bytes[idx] != ' '; idx++) {
+            count = count * 10 + (bytes[idx] - '0');
+        }
+
+        long[] pointers = new long[count];
+        int parsed = 0;
+        for (int i = 0; i < count; i++) {
+            int symbolStart = idx + 1;
+            int symbolEnd = indexOf(bytes, (byte) ' ', symbolStart, end);
+            PointerType pointerType = pointerType(bytes, symbolStart, symbolEnd);
+
+            idx = symbolEnd + 1;
+            int targetOffset = 0;
+            for (; bytes[idx] != ' '; idx++) {
+                targetOffset = targetOffset * 10 + (bytes[idx] - '0');
+            }
+
+            // an adjective satellite is an adjective
+            byte pos = bytes[idx + 1];
+            DefinitionType targetType = pos == 's' ? DefinitionType.ADJECTIVE : definitionType(pos);
+
+            idx += 3;
+            int source = Character.digit(bytes[idx], 16) << 4 | Character.digit(bytes[idx + 1], 16);
+            int target = Character.digit(bytes[idx + 2], 16) << 4 | Character.digit(bytes[idx + 3], 16);
+            idx += 4;
+
+            if (pointerType != null && targetType != null) {
+                pointers[parsed++] = Synset.pointer(pointerType, targetType, targetOffset, source, target);
+            }
+        }
+        return parsed == count ? pointers : Arrays.copyOf(pointers, parsed);
+    }
+
+    /**
+     * Returns the pointer type of the symbol found within the supplied range.
+     *
+     * @param bytes the contents of the data file.
+     * @param start the index of the first byte of the symbol.
+     * @param end   the index after the last byte of the symbol.
+     * @return the pointer type or null if the symbol is not known.
+     */
+    private static PointerType pointerType(byte[] bytes, int start, int end) {
+        for (PointerType type : POINTER_TYPES) {
+            String symbol = type.getSymbol();
+            if (symbol.length() == end - start && symbol.charAt(0) == bytes[start]
+                    && (symbol.length() == 1 || symbol.charAt(1) == bytes[start + 1])) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static DefinitionType definitionType(byte code) {
+        for (DefinitionType type : DEFINITION_TYPES) {
+            if (type.getCode().charAt(0) == code) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the gloss, meaning the definition and usages, which follows the pipe character of the supplied line.
+     *
+     * @param bytes the contents of the data file.
+     * @param start the index of the first byte of the line or of any byte before the pipe character.
+     * @param end   the index after the last byte of the line.
+     * @return the gloss.
+     */
+    static Gloss gloss(byte[] bytes, int start, int end) {
+        // the word definitions are found after the pipe character
+        int definitionStart = indexOf(bytes, (byte) '|', start, end);
+        int definitionEnd = end;
+        while (definitionEnd > definitionStart && Byte.toUnsignedInt(bytes[definitionEnd - 1]) <= ' ') {
+            definitionEnd--;
+        }
+
+        String definition;
+        List<String> usages = new ArrayList<>();
+        int semicolon = indexOf(bytes, (byte) ';', definitionStart, definitionEnd);
+        if (semicolon < 0) {
+            definition = string(bytes, definitionStart + 1, definitionEnd);
+        } else {
+            definition = trimmedString(bytes, definitionStart + 1, semicolon);
+            populateUsages(bytes, semicolon, definitionEnd, usages);
+        }
+        return new Gloss(definition, Collections.unmodifiableList(usages));
+    }
+
+    /**
+     * Populates the list of usages from the usage statements which follow the definition. Every usage which is
+     * followed by another usage is trimmed, while the last usage is kept as is.
+     *
+     * @param bytes   the contents of the data file.
+     * @param lastIdx the index of the semicolon ending the definition.
+     * @param end     the index after the last non-whitespace byte of the line.
+     * @param usages  the list of usages to populate.
+     */
+    private static void populateUsages(byte[] bytes, int lastIdx, int end, List<String> usages) {
+        int startIdx = lastIdx + 1;
+        int idx = indexOf(bytes, (byte) ';', startIdx, end);
+        while (idx >= 0) {
+            usages.add(trimmedString(bytes, startIdx, idx));
+
+            startIdx = idx + 1;
+            idx = indexOf(bytes, (byte) ';', startIdx, end);
+            if (idx < 0 && end > startIdx) {
+                usages.add(string(bytes, startIdx, end));
+            }
+        }
+    }
+
+    /**
+     * Creates the lemma found within the supplied range. Spaces in the word are denoted by an underscore character
+     * and the lemma is stored in lower case.
+     *
+     * @param bytes the contents of the data file.
+     * @param start the index of the first byte of the word.
+     * @param end   the index after the last byte of the word.
+     * @return the lemma.
+     */
+    private String lemma(byte[] bytes, int start, int end) {
+        while (start < end && (bytes[start] == '_' || Byte.toUnsignedInt(bytes[start]) <= ' ')) {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] == '_' || Byte.toUnsignedInt(bytes[end - 1]) <= ' ')) {
+            end--;
+        }
+
+        byte[] lemma = new byte[end - start];
+        for (int i = 0; i < lemma.length; i++) {
+            byte b = bytes[start + i];
+            if (b < 0) {
+                // not ascii so fall back to the string based conversion
+                return string(bytes, start, end).replace("_", " ").toLowerCase(Locale.ROOT);
+            } else if (b == '_') {
+                b = ' ';
+            } else if (b >= 'A' && b <= 'Z') {
+                b += 'a' - 'A';
+            }
+            lemma[i] = b;
+        }
+        return new String(lemma, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Creates the string found within the supplied range after removing the leading and trailing whitespace.
+     *
+     * @param bytes the contents of the data file.
+     * @param start the index of the first byte of the string.
+     * @param end   the index after the last byte of the string.
+     * @return the string.
+     */
+    private static String trimmedString(byte[] bytes, int start, int end) {
+        while (start < end && Byte.toUnsignedInt(bytes[start]) <= ' ') {
+            start++;
+        }
+        while (end > start && Byte.toUnsignedInt(bytes[end - 1]) <= ' ') {
+            end--;
+        }
+        return string(bytes, start, end);
+    }
+
+    private static String string(byte[] bytes, int start, int end) {
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the index of the first occurrence of the supplied byte within the supplied range.
+     *
+     * @param bytes the bytes to search.
+     * @param b     the byte to find.
+     * @param start the index to start searching at.
+     * @param end   the index to stop searching at.
+     * @return the index or -1 if not found.
+     */
+    static int indexOf(byte[] bytes, byte b, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The definition and usages of a synset.
+     */
+    static final class Gloss {
+        private final String definition;
+        private final List<String> usages;
+
+        Gloss(String definition, List<String> usages) {
+            this.definition = definition;
+            this.usages = usages;
+        }
+
+        String getDefinition() {
+            return definition;
+        }
+
+        List<String> getUsages() {
+            return usages;
+        }
+    }
+}
@@ -0,0 +1,815 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * An english word dictionary which allows for the retrieval of a word, its definition, and all synonyms
+ * and any related words.
+ * </p>
+ * <p>
+ * This implementation uses the data from the Princeton WordNet database as its primary source of the words. Taken
+ * directly from their website, "WordNet is a large lexical database of English words. Nouns, verbs, adjectives
+ * and adverbs are grouped into sets of cognitive synonyms (synsets), each expressing a distinct concept". The
+ * WordNet web site exposes their internal data set files. Those data set files are contained internally within
+ * this project (resources/data.adj, resources/data.adv, resources/data.noun, and resources/data.verb). The build
+ * compiles them in to a binary snapshot which is memory-mapped and served directly; without the snapshot the text
+ * files are parsed in to synsets, each stored once and indexed by the words it defines. Either way the {@link Word}
+ * returned for a word is a read only view over its synsets. See the {@link Word} class for more details regarding
+ * the metadata.
+ * </p>
+ * <p>
+ * This implementation supplements the data from the synonym WordNet data set with additional synonyms collected
+ * from other online sources. Along with that, an additional data set containing related words to each word from
+ * WordNet is also compiled. These additional files are contained internally within this project (resources/data.syns
+ * and resources/data.related). Call the {@link #getAllSynonyms(String, boolean, DefinitionType...)} method passing
+ * true to the boolean argument to retrieve all synonyms from both WordNet and the additional sources. Call the
+ * {@link #getAllRelated(String, DefinitionType...)} method to get a set of related words associated with the supplied
+ * word.
+ * </p>
+ * <p>
+ * The WordNet and subsequent datasets are loaded and cached into memory at first access, or in the background when
+ * eager or progressive loading is configured. The loaded datasets are immutable and are published to all threads in
+ * a single step, so an instance is safe to share. Instances are created through {@link WordDictionaries#builder()},
+ * whose methods describe each of the loading, storage, and caching options.
+ * </p>
+ */
+class DefaultWordDictionary implements WordDictionary {
+    /**
+     * The number of distinct words from which a batch query is run in parallel, and the number of word pairs from
+     * which a similarity matrix is computed in parallel.
+     */
+    private static final int PARALLEL_BATCH_SIZE = 1024;
+    private static final DefinitionType[] TYPES = DefinitionType.values();
+
+    private final Path snapshotPath;
+    private final boolean useSnapshot;
+    private final Executor executor;
+    private final Set<DefinitionType> types;
+    private final boolean loadSupplemental;
+    private final boolean progressive;
+    private final GlossStorage glossStorage;
+    private final int glossCacheSize;
+    private final boolean lemmaAutomaton;
+    private final boolean indexMembers;
+    private final boolean indexGlosses;
+    private final Morphology morphology;
+    private final BoundedCache<SynonymKey, Map<DefinitionType, Set<String>>> synonymCache;
+    private final Map<DefinitionType, CompletableFuture<Void>> typesLoaded = new EnumMap<>(DefinitionType.class);
+    private final CompletableFuture<Void> supplementalLoaded = new CompletableFuture<>();
+    private final CompletableFuture<WordDictionary> readiness = new CompletableFuture<>();
+    private final AtomicBoolean warmUpStarted = new AtomicBoolean();
+    private volatile DictionaryData data;
+
+    /**
+     * Creates an instance of this class configured by the supplied builder.
+     *
+     * @param builder the builder.
+     */
+    DefaultWordDictionary(WordDictionaries.Builder builder) {
+        this.snapshotPath = builder.getSnapshotPath();
+        // the snapshot is keyed by the head lemma of each synset, so indexing the members parses the text files
+        this.useSnapshot = builder.isUseSnapshot() && !builder.isIndexMembers();
+        this.executor = builder.getExecutor();
+        this.types = builder.getDefinitionTypes();
+        this.loadSupplemental = builder.isLoadSupplemental();
+        this.progressive = builder.isProgressiveLoad();
+        if (builder.isLazyGlosses()) {
+            this.glossStorage = GlossStorage.ON_DEMAND;
+        } else if (builder.isCompressGlosses()) {
+            this.glossStorage = GlossStorage.COMPRESSED;
+        } else {
+            this.glossStorage = GlossStorage.RESIDENT;
+        }
+        this.glossCacheSize = builder.getGlossCacheSize();
+        this.lemmaAutomaton = builder.isLemmaAutomaton();
+        this.indexMembers = builder.isIndexMembers();
+        this.indexGlosses = builder.isIndexGlosses();
+        this.morphology = new Morphology(builder.getBaseFormCacheSize());
+        this.synonymCache = new BoundedCache<>(builder.getSynonymCacheSize());
+        types.forEach(type -> typesLoaded.put(type, new CompletableFuture<>()));
+        if (!loadSupplemental) {
+            supplementalLoaded.complete(null);
+        }
+        if (builder.isEagerLoad()) {
+            warmUp();
+        }
+    }
+
+    @Override
+    public CompletableFuture<WordDictionary> warmUp() {
+        if (!readiness.isDone() && warmUpStarted.compareAndSet(false, true)) {
+            Thread loader = new Thread(() -> {
+                try {
+                    if (progressive) {
+                        loadProgressively();
+                    } else {
+                        loadDictionary();
+                    }
+                } catch (RuntimeException exception) {
+                    // the readiness future has been completed with the exception
+                }
+            }, "wordnet-dictionary-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+        return readiness.copy();
+    }
+
+    @Override
+    public boolean isReady() {
+        return readiness.isDone() && !readiness.isCompletedExceptionally();
+    }
+
+    @Override
+    public Set<String> getAllWords() {
+        return awaitDictionary(false).getAllWords();
+    }
+
+    @Override
+    public Word lookup(String word) {
+        DictionaryData dictionary = awaitDictionary(false);
+
+        Word wrd;
+        if (word == null) {
+            wrd = null;
+        } else {
+            word = word.toLowerCase(Locale.ROOT);
+            wrd = dictionary.lookup(word);
+        }
+        return wrd;
+    }
+
+    @Override
+    public Map<String, Word> lookupAll(Collection<String> words) {
+        DictionaryData dictionary = awaitDictionary(false);
+        return queryAll(words, dictionary::lookup);
+    }
+
+    @Override
+    public Set<String> getAllSynonyms(String word, boolean includeSupplemental, DefinitionType... specificTypes) {
+        // the synonyms of every definition of the word are filtered, so every type is needed however few are asked for
+        DictionaryData dictionary = awaitDictionary(includeSupplemental);
+        return getAllSynonyms(dictionary, word.toLowerCase(Locale.ROOT), includeSupplemental, specificTypes);
+    }
+
+    @Override
+    public Map<String, Set<String>> getAllSynonymsAll(Collection<String> words, boolean includeSupplemental,
+                                                      DefinitionType... specificTypes) {
+        DictionaryData dictionary = awaitDictionary(includeSupplemental);
+        return queryAll(words, word -> getAllSynonyms(dictionary, word, includeSupplemental, specificTypes));
+    }
+
+    /**
+     * Returns a Set of synonyms associated with the supplied word.
+     *
+     * @param dictionary          the dictionary data to lookup the word in.
+     * @param word                the lower case word.
+     * @param includeSupplemental supply true to include synonyms from additional sources other than wordnet.
+     * @param specificTypes       the definition types to filter the returned words to, or none for all types.
+     * @return the list or empty set if none exist.
+     */
+    private Set<String> getAllSynonyms(DictionaryData dictionary, String word, boolean includeSupplemental,
+                                       DefinitionType... specificTypes) {
+        Set<String> synonyms = new TreeSet<>();
+        Word entry = dictionary.lookup(word);
+        if (entry == null) {
+            return synonyms;
+        }
+
+        List<Definition> definitions = entry.getDefinitions();
+        if (definitions == null) {
+            definitions = new ArrayList<>();
+        }
+        definitions.forEach(d -> synonyms.addAll(d.getSynonyms()));
+
+        if (includeSupplemental) {
+            Set<String> additionalSyns = dictionary.getAdditionalSynonyms(word);
+            if (additionalSyns != null) {
+                synonyms.addAll(additionalSyns);
+            }
+        }
+
+        return reduceSetToSpecificTypes(dictionary, synonyms, specificTypes);
+    }
+
+    /**
+     * Reduces the supplied set of words, in place, to only those words that have a definition type matching the
+     * supplied types. Each word's definition types are tested against the bitmask of the supplied types without
+     * looking the word up.
+     *
+     * @param dictionary    the dictionary data to lookup the words in.
+     * @param words         the words to evaluate.
+     * @param specificTypes the definition types to look for.
+     * @return the possibly reduced set of the words.
+     */
+    private Set<String> reduceSetToSpecificTypes(DictionaryData dictionary, Set<String> words,
+                                                 DefinitionType... specificTypes) {
+        if (specificTypes == null || specificTypes.length == 0) {
+            return words;
+        }
+
+        int mask = DefinitionType.mask(specificTypes);
+        words.removeIf(word -> !hasDefinitionTypes(dictionary, word, mask));
+        return words;
+    }
+
+    /**
+     * Returns true if the supplied word is found and has every definition type within the supplied bitmask. A word
+     * which is not in lower case, as some words of the additional datasets are, only needs to be found.
+     *
+     * @param dictionary the dictionary data to lookup the word in.
+     * @param word       the word.
+     * @param mask       the bitmask of the definition types.
+     * @return true if the word is kept.
+     */
+    private boolean hasDefinitionTypes(DictionaryData dictionary, String word, int mask) {
+        String lowerCase = word.toLowerCase(Locale.ROOT);
+        int types = dictionary.getDefinitionTypes(lowerCase);
+        return types != 0 && ((types & mask) == mask || !lowerCase.equals(word));
+    }
+
+    @Override
+    public Set<String> getAllRelated(String word, DefinitionType... specificTypes) {
+        // a related word which is not in lower case is kept when it has any type, so every type is needed
+        DictionaryData dictionary = awaitDictionary(true);
+
+        word = word.toLowerCase(Locale.ROOT);
+        Set<String> words = dictionary.getAdditionalRelated(word);
+        if (words == null) {
+            words = new HashSet<>();
+        } else {
+            words = reduceSetToSpecificTypes(dictionary, words, specificTypes);
+        }
+        return words;
+    }
+
+    @Override
+    public Map<DefinitionType, Set<String>> getSynonyms(String word, boolean includeSupplemental,
+                                                        DefinitionType... specificTypes) {
+        DictionaryData dictionary = awaitDictionary(includeSupplemental, specificTypes);
+        return getSynonyms(dictionary, word.toLowerCase(Locale.ROOT), includeSupplemental, specificTypes);
+    }
+
+    @Override
+    public Map<String, Map<DefinitionType, Set<String>>> getSynonymsAll(Collection<String> words,
+                                                                        boolean includeSupplemental,
+                                                                        DefinitionType... specificTypes) {
+        DictionaryData dictionary = awaitDictionary(includeSupplemental, specificTypes);
+        return queryAll(words, word -> getSynonyms(dictionary, word, includeSupplemental, specificTypes));
+    }
+
+    /**
+     * Returns a Map of synonyms associated with the supplied word broken up by definition type, from the synonym
+     * cache when configured. The cached maps are shared by every caller, so they cannot be modified.
+     *
+     * @param dictionary          the dictionary data to lookup the word in.
+     * @param word                the lower case word.
+     * @param includeSupplemental supply true to include synonyms from additional sources other than wordnet.
+     * @param specificTypes       the definition types to filter the returned words to, or none for all types.
+     * @return the map or empty map if none exist.
+     */
+    private Map<DefinitionType, Set<String>> getSynonyms(DictionaryData dictionary, String word,
+                                                         boolean includeSupplemental,
+                                                         DefinitionType... specificTypes) {
+        if (!synonymCache.isEnabled()) {
+            Map<DefinitionType, Set<String>> synonyms = findSynonyms(dictionary, word, includeSupplemental,
+                    specificTypes);
+            return synonyms == null ? new HashMap<>() : synonyms;
+        }
+
+        SynonymKey key = new SynonymKey(word, includeSupplemental, typeMask(specificTypes));
+        Map<DefinitionType, Set<String>> cached = synonymCache.get(key, k -> {
+            Map<DefinitionType, Set<String>> found = findSynonyms(dictionary, word, includeSupplemental,
+                    specificTypes);
+            if (found == null) {
+                return null;
+            }
+            Map<DefinitionType, Set<String>> unmodifiable = new EnumMap<>(DefinitionType.class);
+            // immutable copies hold a fraction of the objects of the hash sets for as long as they are cached
+            found.forEach((type, words) -> unmodifiable.put(type, Set.copyOf(words)));
+            return Collections.unmodifiableMap(unmodifiable);
+        });
+        return cached == null ? Collections.emptyMap() : cached;
+    }
+
+    /**
+     * Finds the synonyms associated with the supplied word broken up by definition type.
+     *
+     * @param dictionary          the dictionary data to lookup the word in.
+     * @param word                the lower case word.
+     * @param includeSupplemental supply true to include synonyms from additional sources other than wordnet.
+     * @param specificTypes       the definition types to filter the returned words to, or none for all types.
+     * @return the map, or null if the word is not found, so unknown words are not cached.
+     */
+    private Map<DefinitionType, Set<String>> findSynonyms(DictionaryData dictionary, String word,
+                                                          boolean includeSupplemental,
+                                                          DefinitionType... specificTypes) {
+        Map<DefinitionType, Set<String>> synonyms = new HashMap<>();
+        Word entry = dictionary.lookup(word);
+        if (entry == null) {
+            return null;
+        }
+
+        List<Definition> definitions = entry.getDefinitions();
+        if (definitions == null) {
+            definitions = new ArrayList<>();
+        }
+
+        for (Definition definition : definitions) {
+            List<String> definitionSynonyms = definition.getSynonyms();
+            if (definitionSynonyms.size() > 0) {
+                // if the definition has synonyms defined, then add them to the returned map
+                Set<String> syn = synonyms.computeIfAbsent(definition.getDefinitionType(), k -> new HashSet<>());
+                syn.addAll(definitionSynonyms);
+            }
+        }
+
+        if (includeSupplemental) {
+            addSupplementalWordsToMap(dictionary, word, synonyms);
+        }
+
+        if (specificTypes != null && specificTypes.length > 0) {
+            // remove the types not asked for
+            int mask = DefinitionType.mask(specificTypes);
+            synonyms.keySet().removeIf(definitionType -> (definitionType.mask() & mask) == 0);
+        }
+
+        return synonyms;
+    }
+
+    @Override
+    public List<String> autocomplete(String prefix, int limit, DefinitionType... specificTypes) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("the limit cannot be negative");
+        }
+        DictionaryData dictionary = awaitDictionary(false, specificTypes);
+        return dictionary.autocomplete(prefix.toLowerCase(Locale.ROOT), limit, typeMask(specificTypes));
+    }
+
+    @Override
+    public List<String> suggest(String word, int maxEdits, int limit, DefinitionType... specificTypes) {
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("the maximum number of edits cannot be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("the limit cannot be negative");
+        }
+        DictionaryData dictionary = awaitDictionary(false, specificTypes);
+        return dictionary.suggest(word.toLowerCase(Locale.ROOT), maxEdits, limit, typeMask(specificTypes));
+    }
+
+    @Override
+    public List<String> baseForms(String word, DefinitionType... specificTypes) {
+        DictionaryData dictionary = awaitDictionary(false, specificTypes);
+        return morphology.baseForms(dictionary, word.toLowerCase(Locale.ROOT), typeMask(specificTypes));
+    }
+
+    @Override
+    public Word lookupInflected(String word) {
+        if (word == null) {
+            return null;
+        }
+
+        DictionaryData dictionary = awaitDictionary(false);
+        word = word.toLowerCase(Locale.ROOT);
+        Word wrd = dictionary.lookup(word);
+        if (wrd == null) {
+            List<String> baseForms = morphology.baseForms(dictionary, word, typeMask());
+            if (!baseForms.isEmpty()) {
+                wrd = dictionary.lookup(baseForms.get(0));
+            }
+        }
+        return wrd;
+    }
+
+    @Override
+    public Set<String> getRelated(String word, PointerType pointerType, int depth, DefinitionType... specificTypes) {
+        if (pointerType == null) {
+            throw new IllegalArgumentException("a pointer type is required");
+        }
+        if (depth < 0) {
+            throw new IllegalArgumentException("the depth cannot be negative");
+        }
+        // a relation can lead through definitions of any type, so wait for all of them
+        DictionaryData dictionary = awaitDictionary(false);
+        return dictionary.getRelated(word.toLowerCase(Locale.ROOT), pointerType, depth, typeMask(specificTypes));
+    }
+
+    @Override
+    public Set<String> getHypernyms(String word, DefinitionType... specificTypes) {
+        return getRelated(word, PointerType.HYPERNYM, 1, specificTypes);
+    }
+
+    @Override
+    public Set<String> getAntonyms(String word, DefinitionType... specificTypes) {
+        return getRelated(word, PointerType.ANTONYM, 1, specificTypes);
+    }
+
+    @Override
+    public double similarity(String word1, String word2, SimilarityMeasure measure, DefinitionType... specificTypes) {
+        if (measure == null) {
+            throw new IllegalArgumentException("a similarity measure is required");
+        }
+        DictionaryData dictionary = awaitDictionary(false, specificTypes);
+        int types = typeMask(specificTypes);
+        return dictionary.getTaxonomy().similarity(dictionary.getSynsets(word1.toLowerCase(Locale.ROOT), types),
+                dictionary.getSynsets(word2.toLowerCase(Locale.ROOT), types), measure);
+    }
+
+    @Override
+    public double pathSimilarity(String word1, String word2, DefinitionType... specificTypes) {
+        return similarity(word1, word2, SimilarityMeasure.PATH, specificTypes);
+    }
+
+    @Override
+    public double wuPalmerSimilarity(String word1, String word2, DefinitionType... specificTypes) {
+        return similarity(word1, word2, SimilarityMeasure.WU_PALMER, specificTypes);
+    }
+
+    @Override
+    public double leacockChodorowSimilarity(String word1, String word2, DefinitionType... specificTypes) {
+        return similarity(word1, word2, SimilarityMeasure.LEACOCK_CHODOROW, specificTypes);
+    }
+
+    @Override
+    public double[][] similarityMatrix(List<String> words) {
+        return similarityMatrix(words, SimilarityMeasure.WU_PALMER);
+    }
+
+    @Override
+    public double[][] similarityMatrix(List<String> words, SimilarityMeasure measure,
+                                       DefinitionType... specificTypes) {
+        if (measure == null) {
+            throw new IllegalArgumentException("a similarity measure is required");
+        }
+        DictionaryData dictionary = awaitDictionary(false, specificTypes);
+        Taxonomy taxonomy = dictionary.getTaxonomy();
+        int types = typeMask(specificTypes);
+        Map<String, int[]> synsetsByWord = queryAll(words, word -> dictionary.getSynsets(word, types));
+        int[][] synsets = words.stream()
+                .map(word -> synsetsByWord.getOrDefault(word, new int[0]))
+                .toArray(int[][]::new);
+
+        // each row compares its word with the words after it, filling both halves of the matrix
+        double[][] matrix = new double[synsets.length][synsets.length];
+        IntStream rows = IntStream.range(0, synsets.length);
+        if ((long) synsets.length * synsets.length / 2 >= PARALLEL_BATCH_SIZE) {
+            rows = rows.parallel();
+        }
+        rows.forEach(i -> {
+            for (int j = i; j < synsets.length; j++) {
+                double value = taxonomy.similarity(synsets[i], synsets[j], measure);
+                matrix[i][j] = value;
+                matrix[j][i] = value;
+            }
+        });
+        return matrix;
+    }
+
+    @Override
+    public Map<String, Integer> expand(String word, int maxHops, int maxResults, DefinitionType... specificTypes) {
+        if (maxHops < 0) {
+            throw new IllegalArgumentException("the maximum number of hops cannot be negative");
+        }
+        if (maxResults < 0) {
+            throw new IllegalArgumentException("the maximum number of results cannot be negative");
+        }
+        // the additional words are resolved through every type of the words, so every type is needed
+        DictionaryData dictionary = awaitDictionary(true);
+        return dictionary.expand(word.toLowerCase(Locale.ROOT), maxHops, maxResults, typeMask(specificTypes));
+    }
+
+    @Override
+    public List<Definition> searchDefinitions(String query, int limit, DefinitionType... specificTypes) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("the limit cannot be negative");
+        }
+        // the definitions are ranked against every definition in the dictionary, so every type is needed
+        DictionaryData dictionary = awaitDictionary(false);
+        return dictionary.searchDefinitions(query, limit, typeMask(specificTypes));
+    }
+
+    @Override
+    public CacheStats getSynonymCacheStats() {
+        return synonymCache.stats();
+    }
+
+    /**
+     * Returns the bitmask of the supplied definition types, or of every definition type when none are supplied.
+     *
+     * @param specificTypes the definition types.
+     * @return the bitmask.
+     */
+    private int typeMask(DefinitionType... specificTypes) {
+        return specificTypes == null || specificTypes.length == 0
+                ? DefinitionType.mask(TYPES)
+                : DefinitionType.mask(specificTypes);
+    }
+
+    /**
+     * Retrieves the supplemental synonym words and adds them to the supplied map.
+     *
+     * @param dictionary the dictionary data to lookup the words in.
+     * @param word       the word to lookup.
+     * @param wordMap    the map to add to .
+     */
+    private void addSupplementalWordsToMap(DictionaryData dictionary, String word,
+                                           Map<DefinitionType, Set<String>> wordMap) {
+        Set<String> words = dictionary.getAdditionalSynonyms(word);
+        if (words == null) {
+            return;
+        }
+
+        for (String wrd : words) {
+            String lowerCase = wrd.toLowerCase(Locale.ROOT);
+            int types = dictionary.getDefinitionTypes(lowerCase);
+            for (DefinitionType definitionType : TYPES) {
+                if ((types & definitionType.mask()) != 0) {
+                    Set<String> syn = wordMap.computeIfAbsent(definitionType, k -> new HashSet<>());
+                    syn.add(lowerCase);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the supplied query once for each distinct supplied word, after converting it to lower case, and keys each
+     * result by the supplied word. The queries of a batch of at least {@link #PARALLEL_BATCH_SIZE} distinct words are
+     * run in parallel on the common fork-join pool. Words which only differ by case share one result.
+     *
+     * @param words the words to query.
+     * @param query the query, which returns null when the word is not found.
+     * @param <T>   the type of the result.
+     * @return the results of the words which are found.
+     */
+    private <T> Map<String, T> queryAll(Collection<String> words, Function<String, T> query) {
+        Map<String, String> keys = new HashMap<>();
+        for (String word : words) {
+            if (word != null) {
+                keys.computeIfAbsent(word, w -> w.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        Set<String> distinct = new HashSet<>(keys.values());
+        Map<String, T> results = new ConcurrentHashMap<>(distinct.size() * 4 / 3 + 1);
+        Stream<String> queries = distinct.size() < PARALLEL_BATCH_SIZE ? distinct.stream() : distinct.parallelStream();
+        queries.forEach(word -> {
+            T result = query.apply(word);
+            if (result != null) {
+                results.put(word, result);
+            }
+        });
+
+        Map<String, T> batch = new HashMap<>(keys.size() * 4 / 3 + 1);
+        keys.forEach((word, key) -> {
+            T result = results.get(key);
+            if (result != null) {
+                batch.put(word, result);
+            }
+        });
+        return batch;
+    }
+
+    /**
+     * Waits until the data a query needs is loaded and returns the loaded data. Outside of progressive mode this
+     * loads the whole dictionary on first access. In progressive mode a query only waits for the definition types
+     * it names when its result only depends on the definitions of those types, so it returns the same result as it
+     * would once the whole dictionary is loaded.
+     *
+     * @param includeSupplemental supply true if the query needs the additional datasets.
+     * @param specificTypes       the only definition types the result depends on, or none if it depends on all of
+     *                            them.
+     * @return the loaded data.
+     */
+    private DictionaryData awaitDictionary(boolean includeSupplemental, DefinitionType... specificTypes) {
+        if (!progressive) {
+            loadDictionary();
+            return data;
+        }
+
+        warmUp();
+        if (specificTypes == null || specificTypes.length == 0) {
+            typesLoaded.values().forEach(this::join);
+        } else {
+            for (DefinitionType type : specificTypes) {
+                CompletableFuture<Void> loaded = typesLoaded.get(type);
+                if (loaded != null) {
+                    join(loaded);
+                }
+            }
+        }
+        if (includeSupplemental) {
+            join(supplementalLoaded);
+        }
+        if (data == null) {
+            // none of the configured types were asked for; wait for the whole dictionary
+            join(readiness);
+        }
+        return data;
+    }
+
+    /**
+     * Waits for the supplied future, rethrowing the original exception if the load failed.
+     *
+     * @param future the future.
+     */
+    private void join(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Initializes this class by mapping the precompiled dictionary snapshot or, when no snapshot exists, importing
+     * the data from the princeton dictionary files. The data is fully built before it is published to the volatile
+     * field, so other threads never see a partially loaded dictionary.
+     */
+    private void loadDictionary() {
+        if (data != null) {
+            return;
+        }
+
+        synchronized (this) {
+            if (data != null) {
+                return;
+            }
+            if (readiness.isCompletedExceptionally()) {
+                // a failed load is not retried, so every query fails the same way as the warm up future
+                join(readiness);
+            }
+
+            DictionaryData loaded;
+            try {
+                loaded = openSnapshot();
+                if (loaded == null) {
+                    loaded = newLoader().load();
+                }
+                if (indexGlosses) {
+                    loaded.getGlossIndex();
+                }
+            } catch (RuntimeException exception) {
+                failed(exception);
+                throw exception;
+            }
+            data = loaded;
+            typesLoaded.values().forEach(loadedType -> loadedType.complete(null));
+            supplementalLoaded.complete(null);
+            readiness.complete(this);
+        }
+    }
+
+    /**
+     * Imports the data from the princeton dictionary files, publishing each definition type as soon as its file is
+     * parsed. When a snapshot exists it is mapped instead, since that makes the whole dictionary available at once.
+     */
+    private void loadProgressively() {
+        if (hasSnapshot()) {
+            loadDictionary();
+            return;
+        }
+
+        DictionaryLoader.Listener listener = new DictionaryLoader.Listener() {
+            @Override
+            public void typeLoaded(DefinitionType type, CompactDictionaryData loaded) {
+                data = loaded;
+                typesLoaded.get(type).complete(null);
+            }
+
+            @Override
+            public void supplementalLoaded(CompactDictionaryData loaded) {
+                data = loaded;
+                supplementalLoaded.complete(null);
+            }
+        };
+
+        try {
+            DictionaryData loaded = newLoader().load(listener);
+            if (indexGlosses) {
+                loaded.getGlossIndex();
+            }
+            data = loaded;
+        } catch (RuntimeException exception) {
+            failed(exception);
+            throw exception;
+        }
+        supplementalLoaded.complete(null);
+        readiness.complete(this);
+    }
+
+    /**
+     * Creates the loader which imports the configured data from the princeton dictionary files.
+     *
+     * @return the loader.
+     */
+    private DictionaryLoader newLoader() {
+        return new DictionaryLoader(executor, types, loadSupplemental, glossStorage, glossCacheSize, lemmaAutomaton,
+                indexMembers);
+    }
+
+    /**
+     * Completes every pending future with the supplied exception.
+     *
+     * @param exception the reason the dictionary could not be loaded.
+     */
+    private void failed(RuntimeException exception) {
+        typesLoaded.values().forEach(loadedType -> loadedType.completeExceptionally(exception));
+        supplementalLoaded.completeExceptionally(exception);
+        readiness.completeExceptionally(exception);
+    }
+
+    /**
+     * Returns true if the dictionary will be served from a snapshot.
+     *
+     * @return true if snapshots are used and one exists.
+     */
+    private boolean hasSnapshot() {
+        return useSnapshot
+                && (snapshotPath != null || getClass().getResource(DictionarySnapshot.RESOURCE_NAME) != null);
+    }
+
+    /**
+     * Maps the configured snapshot, or the snapshot packaged with this project.
+     *
+     * @return the mapped data or null if snapshots are not used or none exists.
+     */
+    private DictionaryData openSnapshot() {
+        if (!useSnapshot) {
+            return null;
+        } else if (snapshotPath != null) {
+            return DictionarySnapshot.open(snapshotPath, types, loadSupplemental);
+        }
+
+        URL snapshot = getClass().getResource(DictionarySnapshot.RESOURCE_NAME);
+        return snapshot == null ? null : DictionarySnapshot.open(snapshot, types, loadSupplemental);
+    }
+
+    /**
+     * The key of the synonyms of a word cached for one combination of the query's arguments.
+     */
+    private static final class SynonymKey {
+        private final String word;
+        private final boolean includeSupplemental;
+        private final int types;
+
+        SynonymKey(String word, boolean includeSupplemental, int types) {
+            this.word = word;
+            this.includeSupplemental = includeSupplemental;
+            this.types = types;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SynonymKey)) {
+                return false;
+            }
+            SynonymKey key = (SynonymKey) o;
+            return types == key.types && includeSupplemental == key.includeSupplemental && word.equals(key.word);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * word.hashCode() + types) + (includeSupplemental ? 1 : 0);
+        }
+    }
+}
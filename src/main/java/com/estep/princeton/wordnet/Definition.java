@@ -115,9 +115,9 @@ public class Definition implements Comparable<Definition> {
     public String toString() {
         return "word=" + word
                 + "definitionType=" + definitionType
-                + "definition=" + definition
-                + "synonyms=" + synonyms
-                + "usages=" + usages;
+                + "definition=" + getDefinition()
+                + "synonyms=" + getSynonyms()
+                + "usages=" + getUsages();
     }
 
     @Override
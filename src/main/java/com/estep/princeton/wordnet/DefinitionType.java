@@ -68,4 +68,27 @@ public enum DefinitionType {
         }
         return null;
     }
+
+    /**
+     * Returns the bit representing this DefinitionType within a bitmask of definition types.
+     *
+     * @return the bit.
+     */
+    int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Returns the bitmask representing the supplied definition types.
+     *
+     * @param types the definition types.
+     * @return the bitmask.
+     */
+    static int mask(DefinitionType... types) {
+        int mask = 0;
+        for (DefinitionType type : types) {
+            mask |= type.mask();
+        }
+        return mask;
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.util.List;
+
+/**
+ * A read only {@link Definition} whose definition, synonyms, and usages are read from the dictionary data rather
+ * than held by the instance. Every backend returns its definitions as views, so a definition behaves the same however
+ * the dictionary is stored: the setters throw and the returned lists cannot be modified.
+ */
+abstract class DefinitionView extends Definition {
+    /**
+     * Creates an instance of this class.
+     *
+     * @param word           the word being defined.
+     * @param definitionType the definition type.
+     */
+    DefinitionView(String word, DefinitionType definitionType) {
+        super(word, definitionType);
+    }
+
+    @Override
+    public abstract String getDefinition();
+
+    @Override
+    public void setDefinition(String definition) {
+        throw new UnsupportedOperationException("the definition is read from the dictionary data");
+    }
+
+    @Override
+    public abstract List<String> getSynonyms();
+
+    @Override
+    public void setSynonyms(List<String> synonyms) {
+        throw new UnsupportedOperationException("the synonyms are read from the dictionary data");
+    }
+
+    @Override
+    public abstract List<String> getUsages();
+
+    @Override
+    public void setUsages(List<String> usages) {
+        throw new UnsupportedOperationException("the usages are read from the dictionary data");
+    }
+}
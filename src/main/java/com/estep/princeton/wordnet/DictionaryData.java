@@ -0,0 +1,152 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The loaded dictionary datasets that a {@link WordDictionary} serves its queries from. Implementations are either
+ * parsed from the WordNet text files or mapped from a precompiled binary snapshot.
+ */
+interface DictionaryData {
+    /**
+     * Returns all words in the dictionary.
+     *
+     * @return the set of words.
+     */
+    Set<String> getAllWords();
+
+    /**
+     * Returns the supplied word information from the dictionary.
+     *
+     * @param word the lower case word to lookup.
+     * @return the Word information or null if not found.
+     */
+    Word lookup(String word);
+
+    /**
+     * Returns the definition types of the supplied word as a bitmask of {@link DefinitionType#mask()} bits, without
+     * creating the word information.
+     *
+     * @param word the lower case word.
+     * @return the bitmask or zero if the word is not found.
+     */
+    int getDefinitionTypes(String word);
+
+    /**
+     * Returns the words starting with the supplied prefix which have at least one of the supplied definition types,
+     * ranked by their number of definitions of those types, most first, and then in sorted order.
+     *
+     * @param prefix the lower case prefix.
+     * @param limit  the maximum number of words to return.
+     * @param types  the bitmask of the definition types.
+     * @return the ranked words.
+     */
+    List<String> autocomplete(String prefix, int limit, int types);
+
+    /**
+     * Returns the words within the supplied number of edits of the supplied word which have at least one of the
+     * supplied definition types, ranked by their number of edits, fewest first, then by their number of definitions
+     * of those types, most first, and then in sorted order.
+     *
+     * @param word     the lower case word.
+     * @param maxEdits the maximum number of edits.
+     * @param limit    the maximum number of words to return.
+     * @param types    the bitmask of the definition types.
+     * @return the ranked words.
+     */
+    List<String> suggest(String word, int maxEdits, int limit, int types);
+
+    /**
+     * Returns the words reached from the definitions of the supplied word by following the pointers of the supplied
+     * type, up to the supplied number of pointers, in the order they are reached. Only the words of the synsets of the
+     * supplied definition types are returned, and the supplied word is never returned.
+     *
+     * @param word        the lower case word.
+     * @param pointerType the type of the pointers to follow.
+     * @param depth       the maximum number of pointers to follow.
+     * @param types       the bitmask of the definition types.
+     * @return the related words.
+     */
+    Set<String> getRelated(String word, PointerType pointerType, int depth, int types);
+
+    /**
+     * Returns the words reached from the supplied word in up to the supplied number of hops, where each hop is to a
+     * WordNet synonym of a definition of the supplied definition types, or to an additional synonym or related word.
+     * An additional synonym or related word which is not in lower case is replaced by its lower case word when that
+     * is in the dictionary, and unless every definition type is supplied it is only reached when it has at least one
+     * of the supplied definition types.
+     *
+     * @param word       the lower case word.
+     * @param maxHops    the maximum number of hops.
+     * @param maxResults the maximum number of words to return.
+     * @param types      the bitmask of the definition types.
+     * @return the reached words mapped to their number of hops, nearest first, or an empty map if the word is not
+     * found.
+     * @see WordExpansion
+     */
+    Map<String, Integer> expand(String word, int maxHops, int maxResults, int types);
+
+    /**
+     * Returns the indexes of the synsets of the supplied definition types which define the supplied word, numbered the
+     * same way as the synsets of the {@link #getTaxonomy() taxonomy}.
+     *
+     * @param word  the lower case word.
+     * @param types the bitmask of the definition types.
+     * @return the synset indexes, empty if the word is not found.
+     */
+    int[] getSynsets(String word, int types);
+
+    /**
+     * Returns the hypernym taxonomy of the synsets, which is built on its first use.
+     *
+     * @return the taxonomy.
+     */
+    Taxonomy getTaxonomy();
+
+    /**
+     * Returns the definitions of the supplied definition types whose definition or usages match the supplied query,
+     * ranked by how well they match, best first. Each definition is returned for the word it is listed under.
+     *
+     * @param query the query, as described by {@link GlossIndex}.
+     * @param limit the maximum number of definitions to return.
+     * @param types the bitmask of the definition types.
+     * @return the ranked definitions.
+     */
+    List<Definition> searchDefinitions(String query, int limit, int types);
+
+    /**
+     * Returns the full-text index of the definitions and usages, which is built on its first use.
+     *
+     * @return the index.
+     */
+    GlossIndex getGlossIndex();
+
+    /**
+     * Returns the synonyms obtained from the additional sources other than wordnet for the supplied word.
+     *
+     * @param word the lower case word.
+     * @return the set of synonyms or null if none exist.
+     */
+    Set<String> getAdditionalSynonyms(String word);
+
+    /**
+     * Returns the words considered "related to" the supplied word.
+     *
+     * @param word the lower case word.
+     * @return the set of related words or null if none exist.
+     */
+    Set<String> getAdditionalRelated(String word);
+}
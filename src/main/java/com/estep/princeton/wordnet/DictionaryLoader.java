@@ -0,0 +1,468 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Parses the Princeton WordNet data files, along with the additional synonym and related word datasets, in to
+ * {@link CompactDictionaryData}. Only the data files of the configured definition types are parsed, and the additional
+ * datasets can be skipped altogether. The definitions and usages are stored as configured by {@link GlossStorage}:
+ * on the heap, compressed on the heap, or left in the data files and read on demand. Every lemma of a load is
+ * deduplicated through one {@link LemmaPool}, and the merged lemmas are stored in a {@link LemmaTable} or, when
+ * configured, a {@link LemmaAutomaton}, which is mapped from the automaton compiled at build time when it holds the
+ * same lemmas. The words are keyed by the head lemma of each synset or, when configured, by every member lemma of
+ * each synset.
+ * </p>
+ * <p>
+ * By default the files are parsed one after another on the calling thread. When an {@link Executor} is supplied,
+ * each file is parsed on its own task. Either way each file is parsed in to its own partial list of synsets and the
+ * partial lists are merged in {@link #LOAD_ORDER}, so every word's definitions are in the same order no matter which
+ * file finishes first. A {@link Listener} can be supplied to receive the merged data as the files are parsed; the
+ * files which finish while the previous ones are being merged are merged together.
+ * </p>
+ */
+class DictionaryLoader {
+    /**
+     * The order the data files are merged in, which is the order of each word's definitions.
+     */
+    static final List<DefinitionType> LOAD_ORDER = List.of(DefinitionType.VERB, DefinitionType.NOUN,
+            DefinitionType.ADVERB, DefinitionType.ADJECTIVE);
+
+    private final Executor executor;
+    private final Set<DefinitionType> types;
+    private final boolean loadSupplemental;
+    private final GlossStorage glossStorage;
+    private final int glossCacheSize;
+    private final boolean lemmaAutomaton;
+    private final boolean indexMembers;
+    private final GlossReader glosses;
+
+    /**
+     * Creates an instance of this class which parses all of the files serially on the calling thread.
+     */
+    DictionaryLoader() {
+        this(null);
+    }
+
+    /**
+     * Creates an instance of this class which parses all of the files, each on its own task.
+     *
+     * @param executor the executor to run the parsing tasks on or null to parse serially on the calling thread.
+     */
+    DictionaryLoader(Executor executor) {
+        this(executor, EnumSet.allOf(DefinitionType.class), true, GlossStorage.RESIDENT, 0, false, false);
+    }
+
+    /**
+     * Creates an instance of this class which parses the data files of the supplied definition types, each on its
+     * own task.
+     *
+     * @param executor         the executor to run the parsing tasks on or null to parse serially on the calling
+     *                         thread.
+     * @param types            the definition types to load.
+     * @param loadSupplemental supply false to skip loading the additional synonym and related word datasets.
+     * @param glossStorage     how the definitions and usages are stored.
+     * @param glossCacheSize   the number of definitions to cache when they are not kept on the heap.
+     * @param lemmaAutomaton   supply true to store the lemmas in a {@link LemmaAutomaton} rather than a
+     *                         {@link LemmaTable}.
+     * @param indexMembers     supply true to key the words by every member lemma of each synset rather than only by
+     *                         the head lemma.
+     */
+    DictionaryLoader(Executor executor, Set<DefinitionType> types, boolean loadSupplemental,
+                     GlossStorage glossStorage, int glossCacheSize, boolean lemmaAutomaton, boolean indexMembers) {
+        this.executor = executor;
+        this.types = types;
+        this.loadSupplemental = loadSupplemental;
+        this.glossStorage = glossStorage;
+        this.glossCacheSize = glossCacheSize;
+        this.lemmaAutomaton = lemmaAutomaton;
+        this.indexMembers = indexMembers;
+        this.glosses = glossStorage == GlossStorage.ON_DEMAND ? new GlossReader(glossCacheSize) : null;
+    }
+
+    /**
+     * Imports the data from the princeton dictionary files and the additional datasets.
+     *
+     * @return the loaded dictionary data.
+     */
+    CompactDictionaryData load() {
+        return load(null);
+    }
+
+    /**
+     * Imports the data from the princeton dictionary files and the additional datasets, notifying the supplied
+     * listener as each file is parsed.
+     *
+     * @param listener the listener to notify or null to only return the fully loaded data.
+     * @return the loaded dictionary data.
+     */
+    CompactDictionaryData load(Listener listener) {
+        Parts parts = new Parts(listener, lemmaAutomaton ? LemmaAutomaton::load : LemmaTable::new, indexMembers);
+        LemmaPool lemmas = new LemmaPool();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (DefinitionType type : LOAD_ORDER) {
+            if (types.contains(type)) {
+                tasks.add(run(() -> parts.typeLoaded(type, loadFile(type, lemmas))));
+            }
+        }
+        if (loadSupplemental) {
+            tasks.add(run(() -> parts.synonymsLoaded(loadAdditional("/data.syns", lemmas))));
+            tasks.add(run(() -> parts.relatedLoaded(loadAdditional("/data.related", lemmas))));
+        }
+
+        tasks.forEach(this::join);
+        return parts.merge();
+    }
+
+    /**
+     * Runs the supplied task on the executor, or on the calling thread when there is no executor.
+     *
+     * @param task the task.
+     * @return the future that completes once the task is run.
+     */
+    private CompletableFuture<Void> run(Runnable task) {
+        if (executor == null) {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(task, executor);
+    }
+
+    /**
+     * Imports the data file of the supplied definition type in to its own partial list of synsets.
+     *
+     * @param type   the type of definition data being imported.
+     * @param lemmas deduplicates the lemmas.
+     * @return the unmodifiable synsets.
+     */
+    private List<Synset> loadFile(DefinitionType type, LemmaPool lemmas) {
+        String fileName = fileName(type);
+        URL u = getClass().getResource(fileName);
+        if (u == null) {
+            throw new IllegalArgumentException(fileName + " is not found");
+        }
+
+        List<Synset> synsets;
+        try (InputStream in = u.openStream()) {
+            synsets = new DataFileParser(lemmas, glosses).parse(in.readAllBytes(), type);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+
+        if (glossStorage == GlossStorage.COMPRESSED) {
+            CompressedGlosses compressed = new CompressedGlosses(synsets, glossCacheSize);
+            synsets.replaceAll(synset -> new Synset(synset.getType(), synset.getOffset(), synset.getLemmas(), null,
+                    compressed, synset.getPointers()));
+        }
+        return Collections.unmodifiableList(synsets);
+    }
+
+    /**
+     * Returns the name of the princeton dictionary file containing the supplied definition type.
+     *
+     * @param type the definition type.
+     * @return the file name.
+     */
+    static String fileName(DefinitionType type) {
+        switch (type) {
+            case NOUN:
+                return "/data.noun";
+            case VERB:
+                return "/data.verb";
+            case ADVERB:
+                return "/data.adv";
+            default:
+                return "/data.adj";
+        }
+    }
+
+    /**
+     * Waits for the supplied task and returns its result, rethrowing the original exception if the task failed.
+     *
+     * @param future the task.
+     * @param <T>    the type of result.
+     * @return the result.
+     */
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Loads an internal map containing the words obtained from the additional sources other than wordnet.
+     *
+     * @param fileName the file containing the words to load.
+     * @param lemmas   deduplicates the words.
+     * @return a map keyed by the word and valued by a set containing the related words.
+     */
+    private Map<String, Set<String>> loadAdditional(String fileName, LemmaPool lemmas) {
+        URL u = getClass().getResource(fileName);
+        if (u == null) {
+            throw new IllegalArgumentException(fileName + " is not found");
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(u.openStream(),
+                StandardCharsets.UTF_8))) {
+            Map<String, Set<String>> map = new TreeMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                StringTokenizer tokenizer = new StringTokenizer(line, "=");
+                String word = lemmas.intern(tokenizer.nextToken().trim().toLowerCase(Locale.ROOT));
+
+                String words = tokenizer.nextToken();
+                Set<String> wordSet = new HashSet<>();
+                StringTokenizer synTokens = new StringTokenizer(words, "\t");
+                while (synTokens.hasMoreTokens()) {
+                    String syn = lemmas.intern(synTokens.nextToken().trim());
+                    wordSet.add(syn);
+                }
+                map.put(word, Collections.unmodifiableSet(wordSet));
+            }
+            return map;
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Receives the loaded data as each file is parsed.
+     */
+    interface Listener {
+        /**
+         * Called once the data file of the supplied type is parsed.
+         *
+         * @param type the definition type now loaded.
+         * @param data the merged data of every file parsed so far.
+         */
+        void typeLoaded(DefinitionType type, CompactDictionaryData data);
+
+        /**
+         * Called once both of the additional datasets are parsed.
+         *
+         * @param data the merged data of every file parsed so far.
+         */
+        void supplementalLoaded(CompactDictionaryData data);
+    }
+
+    /**
+     * Collects the partial lists of synsets as each file is parsed and merges them. The lock only guards the parts
+     * collected so far; the merges run off the lock on the task of the file which completed, one at a time, and the
+     * files which complete during a merge are merged together once it finishes. Nothing is merged before the end of
+     * the load when there is no listener.
+     */
+    private static class Parts {
+        private final Listener listener;
+        private final Function<Collection<String>, LemmaStore> lemmaStore;
+        private final boolean indexMembers;
+        private final Map<DefinitionType, List<Synset>> partials = new EnumMap<>(DefinitionType.class);
+        private final Set<DefinitionType> notified = EnumSet.noneOf(DefinitionType.class);
+        private Map<String, Set<String>> additionalSynonyms;
+        private Map<String, Set<String>> additionalRelated;
+        private boolean supplementalNotified;
+        private boolean merging;
+        private int version;
+        private Merge merged;
+
+        Parts(Listener listener, Function<Collection<String>, LemmaStore> lemmaStore, boolean indexMembers) {
+            this.listener = listener;
+            this.lemmaStore = lemmaStore;
+            this.indexMembers = indexMembers;
+        }
+
+        void typeLoaded(DefinitionType type, List<Synset> synsets) {
+            synchronized (this) {
+                partials.put(type, synsets);
+                version++;
+            }
+            publish();
+        }
+
+        void synonymsLoaded(Map<String, Set<String>> words) {
+            synchronized (this) {
+                additionalSynonyms = words;
+                version++;
+            }
+            publish();
+        }
+
+        void relatedLoaded(Map<String, Set<String>> words) {
+            synchronized (this) {
+                additionalRelated = words;
+                version++;
+            }
+            publish();
+        }
+
+        /**
+         * Merges the parts the listener has not been notified of yet and notifies it, unless another task is already
+         * merging, in which case that task merges these parts once its current merge finishes.
+         */
+        private void publish() {
+            if (listener == null) {
+                return;
+            }
+
+            Merge next;
+            synchronized (this) {
+                if (merging) {
+                    return;
+                }
+                merging = true;
+                next = nextMerge();
+            }
+            while (next != null) {
+                try {
+                    next.merge();
+                } catch (RuntimeException exception) {
+                    synchronized (this) {
+                        merging = false;
+                    }
+                    throw exception;
+                }
+                synchronized (this) {
+                    published(next);
+                    next = nextMerge();
+                }
+            }
+        }
+
+        /**
+         * Returns the parts to merge next, or null when the listener has been notified of every part collected so
+         * far, in which case the merging task is done.
+         *
+         * @return the parts to merge or null.
+         */
+        private Merge nextMerge() {
+            boolean pending = !notified.containsAll(partials.keySet())
+                    || (!supplementalNotified && additionalSynonyms != null && additionalRelated != null);
+            if (!pending) {
+                merging = false;
+                return null;
+            }
+            return new Merge(this);
+        }
+
+        /**
+         * Records the supplied merged parts and notifies the listener of the parts it now contains. The listener is
+         * notified under the lock, so it receives the merges in the order they are made.
+         *
+         * @param merge the merged parts.
+         */
+        private void published(Merge merge) {
+            merged = merge;
+            for (DefinitionType type : LOAD_ORDER) {
+                if (merge.partials.containsKey(type) && notified.add(type)) {
+                    listener.typeLoaded(type, merge.data);
+                }
+            }
+            if (!supplementalNotified && merge.additionalSynonyms != null && merge.additionalRelated != null) {
+                supplementalNotified = true;
+                listener.supplementalLoaded(merge.data);
+            }
+        }
+
+        /**
+         * Merges every part in to compact dictionary data, in {@link #LOAD_ORDER}. The last merge published to the
+         * listener is reused when no part has been collected since.
+         *
+         * @return the merged data.
+         */
+        CompactDictionaryData merge() {
+            Merge merge;
+            synchronized (this) {
+                if (merged != null && merged.version == version) {
+                    return merged.data;
+                }
+                merge = new Merge(this);
+            }
+            merge.merge();
+            synchronized (this) {
+                merged = merge;
+            }
+            return merge.data;
+        }
+    }
+
+    /**
+     * The parts collected at one point of the load and, once merged, the data merged from them.
+     */
+    private static class Merge {
+        private final Function<Collection<String>, LemmaStore> lemmaStore;
+        private final boolean indexMembers;
+        private final Map<DefinitionType, List<Synset>> partials;
+        private final Map<String, Set<String>> additionalSynonyms;
+        private final Map<String, Set<String>> additionalRelated;
+        private final int version;
+        private CompactDictionaryData data;
+
+        /**
+         * Copies the parts collected so far, which must be called holding the lock of the supplied parts.
+         *
+         * @param parts the collected parts.
+         */
+        Merge(Parts parts) {
+            this.lemmaStore = parts.lemmaStore;
+            this.indexMembers = parts.indexMembers;
+            this.partials = parts.partials.isEmpty() ? Collections.emptyMap() : new EnumMap<>(parts.partials);
+            this.additionalSynonyms = parts.additionalSynonyms;
+            this.additionalRelated = parts.additionalRelated;
+            this.version = parts.version;
+        }
+
+        /**
+         * Merges the copied parts in to compact dictionary data, in {@link #LOAD_ORDER}.
+         */
+        void merge() {
+            List<Synset> synsets = new ArrayList<>(partials.values().stream().mapToInt(List::size).sum());
+            for (DefinitionType type : LOAD_ORDER) {
+                synsets.addAll(partials.getOrDefault(type, Collections.emptyList()));
+            }
+
+            data = new CompactDictionaryData(synsets, orEmpty(additionalSynonyms), orEmpty(additionalRelated),
+                    lemmaStore, indexMembers);
+        }
+
+        private static Map<String, Set<String>> orEmpty(Map<String, Set<String>> map) {
+            return map == null ? Collections.emptyMap() : map;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * Reads and writes the binary dictionary snapshot. The snapshot is compiled from the WordNet text files at build
+ * time and is memory-mapped at runtime so that the text files do not need to be parsed on every JVM start.
+ * </p>
+ * <p>
+ * All values are big-endian. Every string in the dictionary is stored once within a UTF-8 string table and is
+ * referenced everywhere else by its index within that table. The layout is:
+ * </p>
+ * <pre>
+ * header       magic, version, and the count of every section below
+ * strings      int[stringCount + 1] offsets in to the string bytes, followed by the UTF-8 string bytes
+ * words        int[wordCount] string ids sorted by their UTF-8 bytes, int[wordCount + 1] start of each word's
+ *              definitions
+ * word hash    int[bucketCount] displacements, int[wordCount] word index of each slot, byte[wordCount] fingerprints
+ *              of a {@link LemmaHash} over the words
+ * word types   byte[wordCount] bitmask of the definition types of each word
+ * definitions  byte[definitionCount] definition type ordinals, int[definitionCount] definition string ids,
+ *              int[definitionCount + 1] start of each definition's synonyms, int[] synonym string ids,
+ *              int[definitionCount + 1] start of each definition's usages, int[] usage string ids
+ * pointers     int[definitionCount + 1] start of each definition's pointers, byte[pointerCount] pointer type
+ *              ordinals, int[pointerCount] target definitions, byte[pointerCount] source word numbers,
+ *              byte[pointerCount] target word numbers
+ * synonyms     int[keyCount] sorted string ids, int[keyCount + 1] start of each key's words, int[] string ids
+ * related      laid out the same as the synonyms section
+ * </pre>
+ * <p>
+ * Byte sections are padded to a multiple of four so that every int section is aligned. The words are the first strings
+ * added to the string table, so the string id of each word is its index within the words section. Each definition is
+ * one synset, and the pointers are laid out as a {@link PointerGraph} over the definitions. The words of a definition
+ * are numbered from one starting with the word being defined, followed by its synonyms, so a snapshot is written from
+ * data keyed by the head lemma of each synset. Words are found through the word hash; the sorted words are binary
+ * searched only for prefixes.
+ * </p>
+ */
+final class DictionarySnapshot {
+    /**
+     * The classpath resource name of the snapshot compiled at build time.
+     */
+    static final String RESOURCE_NAME = "/wordnet.snapshot";
+    static final int MAGIC = 0x574E4453;
+    static final int VERSION = 4;
+
+    private DictionarySnapshot() {
+    }
+
+    /**
+     * Memory maps the snapshot found at the supplied classpath resource.
+     *
+     * @param resource     the location of the snapshot.
+     * @param types        the definition types to serve.
+     * @param supplemental supply false to ignore the additional synonym and related word datasets.
+     * @return the mapped dictionary data.
+     */
+    static SnapshotDictionaryData open(URL resource, Set<DefinitionType> types, boolean supplemental) {
+        return new SnapshotDictionaryData(MappedFiles.map(resource, ".snapshot"), types, supplemental);
+    }
+
+    /**
+     * Memory maps the snapshot found at the supplied path.
+     *
+     * @param path         the snapshot file.
+     * @param types        the definition types to serve.
+     * @param supplemental supply false to ignore the additional synonym and related word datasets.
+     * @return the mapped dictionary data.
+     */
+    static SnapshotDictionaryData open(Path path, Set<DefinitionType> types, boolean supplemental) {
+        return new SnapshotDictionaryData(MappedFiles.map(path), types, supplemental);
+    }
+
+    /**
+     * Writes the supplied dictionary data as a snapshot to the supplied path.
+     *
+     * @param data the dictionary data to write.
+     * @param path the snapshot file to create.
+     */
+    static void write(CompactDictionaryData data, Path path) {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(data, out);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Writes the supplied dictionary data as a snapshot to the supplied stream.
+     *
+     * @param data the dictionary data to write.
+     * @param out  the stream to write to.
+     * @throws IOException thrown if the stream cannot be written to.
+     */
+    static void write(CompactDictionaryData data, OutputStream out) throws IOException {
+        StringTable strings = new StringTable();
+
+        List<String> words = sortedKeys(data.getAllWords());
+        int[] wordIds = new int[words.size()];
+        int[] wordDefinitionStart = new int[words.size() + 1];
+        byte[] wordTypes = new byte[words.size()];
+        List<Definition> definitions = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+            wordIds[i] = strings.id(words.get(i));
+            wordDefinitionStart[i] = definitions.size();
+            for (Definition definition : data.lookup(words.get(i)).getDefinitions()) {
+                definitions.add(definition);
+                wordTypes[i] |= (byte) definition.getDefinitionType().mask();
+            }
+        }
+        wordDefinitionStart[words.size()] = definitions.size();
+        LemmaHash wordHash = new LemmaHash(words, IntStream.range(0, words.size()).toArray());
+
+        byte[] definitionTypes = new byte[definitions.size()];
+        int[] definitionIds = new int[definitions.size()];
+        int[] synonymStart = new int[definitions.size() + 1];
+        int[] usageStart = new int[definitions.size() + 1];
+        IntList synonymIds = new IntList();
+        IntList usageIds = new IntList();
+        for (int i = 0; i < definitions.size(); i++) {
+            Definition definition = definitions.get(i);
+            definitionTypes[i] = (byte) definition.getDefinitionType().ordinal();
+            definitionIds[i] = strings.id(definition.getDefinition());
+            synonymStart[i] = synonymIds.size();
+            definition.getSynonyms().forEach(s -> synonymIds.add(strings.id(s)));
+            usageStart[i] = usageIds.size();
+            definition.getUsages().forEach(u -> usageIds.add(strings.id(u)));
+        }
+        synonymStart[definitions.size()] = synonymIds.size();
+        usageStart[definitions.size()] = usageIds.size();
+
+        Pointers pointers = new Pointers(data, definitions);
+        WordSets synonyms = new WordSets(data.getAdditionalSynonyms(), strings);
+        WordSets related = new WordSets(data.getAdditionalRelated(), strings);
+
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.writeInt(MAGIC);
+        dos.writeInt(VERSION);
+        dos.writeInt(strings.size());
+        dos.writeInt(strings.byteLength());
+        dos.writeInt(wordIds.length);
+        dos.writeInt(definitions.size());
+        dos.writeInt(synonymIds.size());
+        dos.writeInt(usageIds.size());
+        dos.writeInt(synonyms.keys.length);
+        dos.writeInt(synonyms.values.size());
+        dos.writeInt(related.keys.length);
+        dos.writeInt(related.values.size());
+        dos.writeInt(pointers.targets.size());
+
+        strings.write(dos);
+        writeInts(dos, wordIds);
+        writeInts(dos, wordDefinitionStart);
+        wordHash.write(dos);
+        writeBytes(dos, wordTypes);
+        writeBytes(dos, definitionTypes);
+        writeInts(dos, definitionIds);
+        writeInts(dos, synonymStart);
+        writeInts(dos, synonymIds.toArray());
+        writeInts(dos, usageStart);
+        writeInts(dos, usageIds.toArray());
+        pointers.write(dos);
+        synonyms.write(dos);
+        related.write(dos);
+        dos.flush();
+    }
+
+    /**
+     * Returns the supplied words sorted by their UTF-8 bytes, which is the order the snapshot reader binary searches
+     * in.
+     *
+     * @param words the words to sort.
+     * @return the sorted list.
+     */
+    private static List<String> sortedKeys(Set<String> words) {
+        List<String> sorted = new ArrayList<>(words);
+        sorted.sort((a, b) -> Arrays.compareUnsigned(a.getBytes(StandardCharsets.UTF_8),
+                b.getBytes(StandardCharsets.UTF_8)));
+        return sorted;
+    }
+
+    static void writeInts(DataOutputStream dos, int[] values) throws IOException {
+        for (int value : values) {
+            dos.writeInt(value);
+        }
+    }
+
+    static void writeBytes(DataOutputStream dos, byte[] values) throws IOException {
+        dos.write(values);
+        for (int i = values.length; i % 4 != 0; i++) {
+            dos.writeByte(0);
+        }
+    }
+
+    /**
+     * Returns the number of bytes a byte section occupies once padded.
+     *
+     * @param length the number of bytes in the section.
+     * @return the padded length.
+     */
+    static int padded(int length) {
+        return (length + 3) & ~3;
+    }
+
+    /**
+     * Assigns each distinct string an id and collects its UTF-8 bytes.
+     */
+    private static class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<byte[]> bytes = new ArrayList<>();
+        private int byteLength;
+
+        int id(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = bytes.size();
+                ids.put(value, id);
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                bytes.add(encoded);
+                byteLength += encoded.length;
+            }
+            return id;
+        }
+
+        int size() {
+            return bytes.size();
+        }
+
+        int byteLength() {
+            return byteLength;
+        }
+
+        void write(DataOutputStream dos) throws IOException {
+            int offset = 0;
+            for (byte[] value : bytes) {
+                dos.writeInt(offset);
+                offset += value.length;
+            }
+            dos.writeInt(offset);
+
+            for (byte[] value : bytes) {
+                dos.write(value);
+            }
+            for (int i = byteLength; i % 4 != 0; i++) {
+                dos.writeByte(0);
+            }
+        }
+    }
+
+    /**
+     * A map of words to sets of words flattened in to a sorted key array and offset arrays.
+     */
+    private static class WordSets {
+        private final int[] keys;
+        private final int[] start;
+        private final IntList values = new IntList();
+
+        WordSets(Map<String, Set<String>> map, StringTable strings) {
+            List<String> sorted = sortedKeys(map.keySet());
+            keys = new int[sorted.size()];
+            start = new int[sorted.size() + 1];
+            for (int i = 0; i < sorted.size(); i++) {
+                keys[i] = strings.id(sorted.get(i));
+                start[i] = values.size();
+                map.get(sorted.get(i)).forEach(w -> values.add(strings.id(w)));
+            }
+            start[sorted.size()] = values.size();
+        }
+
+        void write(DataOutputStream dos) throws IOException {
+            writeInts(dos, keys);
+            writeInts(dos, start);
+            writeInts(dos, values.toArray());
+        }
+    }
+
+    /**
+     * The pointers of each definition, with each target synset replaced by the definition of that synset.
+     */
+    private static class Pointers {
+        private final int[] start;
+        private final IntList types = new IntList();
+        private final IntList targets = new IntList();
+        private final IntList sources = new IntList();
+        private final IntList targetWords = new IntList();
+
+        Pointers(CompactDictionaryData data, List<Definition> definitions) {
+            PointerGraph graph = data.getPointers();
+            int[] synsets = new int[definitions.size()];
+            int[] definitionOfSynset = new int[graph.size()];
+            Arrays.fill(definitionOfSynset, -1);
+            for (int i = 0; i < definitions.size(); i++) {
+                Synset synset = ((SynsetDefinition) definitions.get(i)).getSynset();
+                synsets[i] = data.synsetIndex(synset.getType(), synset.getOffset());
+                if (definitionOfSynset[synsets[i]] < 0) {
+                    definitionOfSynset[synsets[i]] = i;
+                }
+            }
+
+            start = new int[definitions.size() + 1];
+            for (int i = 0; i < definitions.size(); i++) {
+                start[i] = targets.size();
+                for (int p = graph.start(synsets[i]); p < graph.end(synsets[i]); p++) {
+                    int target = definitionOfSynset[graph.target(p)];
+                    if (target >= 0) {
+                        types.add(graph.type(p));
+                        targets.add(target);
+                        sources.add(graph.source(p));
+                        targetWords.add(graph.targetWord(p));
+                    }
+                }
+            }
+            start[definitions.size()] = targets.size();
+        }
+
+        void write(DataOutputStream dos) throws IOException {
+            writeInts(dos, start);
+            writeBytes(dos, bytes(types));
+            writeInts(dos, targets.toArray());
+            writeBytes(dos, bytes(sources));
+            writeBytes(dos, bytes(targetWords));
+        }
+
+        private static byte[] bytes(IntList values) {
+            byte[] bytes = new byte[values.size()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) values.get(i);
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Returns a read only view of the section of the supplied buffer starting at the supplied position.
+     *
+     * @param buffer   the snapshot buffer.
+     * @param position the start of the section.
+     * @param length   the number of bytes in the section.
+     * @return the section.
+     */
+    static ByteBuffer section(ByteBuffer buffer, int position, int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(position);
+        duplicate.limit(position + length);
+        return duplicate.slice();
+    }
+}
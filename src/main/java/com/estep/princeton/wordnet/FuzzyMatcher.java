@@ -0,0 +1,89 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+/**
+ * <p>
+ * Computes the edit distance table used to find the words within a number of edits of a misspelled word. An edit is
+ * inserting, deleting, or substituting a byte, or swapping two adjacent bytes. Words are compared as UTF-8 bytes, so
+ * an edit of a character outside of ASCII can count as two edits.
+ * </p>
+ * <p>
+ * The table has one row for each prefix of a candidate word, so a search over a trie of the words computes one row
+ * for each node it visits and shares the rows of a prefix with every word starting with that prefix. Once every
+ * value of a row exceeds the number of edits, no word starting with that prefix can match and the search does not
+ * descend any further.
+ * </p>
+ */
+final class FuzzyMatcher {
+    private FuzzyMatcher() {
+    }
+
+    /**
+     * Creates the edit distance table for the supplied word, with the row of the empty prefix populated.
+     *
+     * @param word     the UTF-8 bytes of the misspelled word.
+     * @param maxEdits the maximum number of edits.
+     * @return the rows, indexed by the prefix length.
+     */
+    static int[][] rows(byte[] word, int maxEdits) {
+        // a prefix longer than the word plus the number of edits can never match
+        int[][] rows = new int[word.length + maxEdits + 1][word.length + 1];
+        for (int j = 0; j <= word.length; j++) {
+            rows[0][j] = j;
+        }
+        return rows;
+    }
+
+    /**
+     * Computes the row of the edit distance table for the prefix of the supplied length, from the rows of the shorter
+     * prefixes.
+     *
+     * @param rows   the rows, indexed by the prefix length.
+     * @param depth  the prefix length.
+     * @param prefix the prefix of the candidate word.
+     * @param word   the UTF-8 bytes of the misspelled word.
+     * @return the smallest value of the row.
+     */
+    static int row(int[][] rows, int depth, byte[] prefix, byte[] word) {
+        int[] row = rows[depth];
+        int[] above = rows[depth - 1];
+        byte b = prefix[depth - 1];
+
+        row[0] = depth;
+        int min = depth;
+        for (int j = 1; j <= word.length; j++) {
+            int cost = word[j - 1] == b ? 0 : 1;
+            int value = Math.min(Math.min(row[j - 1] + 1, above[j] + 1), above[j - 1] + cost);
+            if (depth > 1 && j > 1 && b == word[j - 2] && prefix[depth - 2] == word[j - 1]) {
+                value = Math.min(value, rows[depth - 2][j - 2] + 1);
+            }
+            row[j] = value;
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    /**
+     * Receives the matching words.
+     */
+    interface Matches {
+        /**
+         * Receives a matching word.
+         *
+         * @param id       the id of the word.
+         * @param distance the number of edits between the word and the misspelled word.
+         */
+        void match(int id, int distance);
+    }
+}
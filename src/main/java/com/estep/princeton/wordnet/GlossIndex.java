@@ -0,0 +1,261 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * A full-text inverted index over the definitions and usages of a dictionary, where each document is the definition
+ * and usages of one synset, identified by an int id. The text is split in to lower case terms of letters and digits,
+ * and the terms are held in a {@link LemmaTable}. The posting list of each term is the ids of the documents it occurs
+ * in, in ascending order, each followed by the number of times the term occurs in the document. The postings are
+ * compressed as variable length ints, the ids as the difference from the previous id, and all of them are held in one
+ * byte array with an int array of the start of each term's postings.
+ * </p>
+ * <p>
+ * A query is a list of terms, where adjacent terms must all occur in a document, and OR separates alternatives, so
+ * {@code red flower OR blossom} matches the documents containing both "red" and "flower", or containing "blossom".
+ * The matching documents are ranked by their Okapi BM25 score over every term of the query.
+ * </p>
+ */
+final class GlossIndex {
+    private static final String OR = "OR";
+    private static final String AND = "AND";
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final LemmaStore terms;
+    private final int[] postingStart;
+    private final byte[] postings;
+    private final int[] documentFrequencies;
+    private final short[] lengths;
+    private final double averageLength;
+
+    /**
+     * Creates an index of the supplied documents.
+     *
+     * @param documents the number of documents.
+     * @param text      returns the text of a document.
+     */
+    GlossIndex(int documents, IntFunction<String> text) {
+        Map<String, IntList> occurrences = new HashMap<>();
+        lengths = new short[documents];
+        long total = 0;
+        for (int document = 0; document < documents; document++) {
+            List<String> tokens = tokens(text.apply(document));
+            lengths[document] = (short) Math.min(tokens.size(), Short.MAX_VALUE);
+            total += tokens.size();
+
+            for (String token : tokens) {
+                IntList list = occurrences.computeIfAbsent(token, k -> new IntList(4));
+                if (list.size() > 0 && list.get(list.size() - 2) == document) {
+                    // another occurrence within the same document
+                    list.set(list.size() - 1, list.get(list.size() - 1) + 1);
+                } else {
+                    list.add(document);
+                    list.add(1);
+                }
+            }
+        }
+        averageLength = documents == 0 ? 0 : (double) total / documents;
+
+        terms = new LemmaTable(occurrences.keySet());
+        postingStart = new int[terms.size() + 1];
+        documentFrequencies = new int[terms.size()];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int id = 0; id < terms.size(); id++) {
+            postingStart[id] = out.size();
+            IntList list = occurrences.get(terms.lemma(id));
+            documentFrequencies[id] = list.size() / 2;
+            int previous = 0;
+            for (int i = 0; i < list.size(); i += 2) {
+                writeInt(out, list.get(i) - previous);
+                writeInt(out, list.get(i + 1));
+                previous = list.get(i);
+            }
+        }
+        postingStart[terms.size()] = out.size();
+        postings = out.toByteArray();
+    }
+
+    /**
+     * Splits the supplied text in to lower case terms of letters and digits.
+     *
+     * @param text the text.
+     * @return the terms in the order they occur.
+     */
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the documents matching the supplied query, ranked by their score, highest first, and then by their id.
+     *
+     * @param query  the query.
+     * @param limit  the maximum number of documents to return.
+     * @param filter returns true for the documents which may be returned.
+     * @return the ids of the matching documents.
+     */
+    int[] search(String query, int limit, IntPredicate filter) {
+        Map<Integer, Postings> decoded = new HashMap<>();
+        IntList matches = new IntList(64);
+        List<String> group = new ArrayList<>();
+        for (String word : (query.trim() + " " + OR).split("\\s+")) {
+            if (!word.equals(OR)) {
+                if (!word.equals(AND)) {
+                    group.addAll(tokens(word));
+                }
+                continue;
+            }
+            match(group, decoded, filter, matches);
+            group.clear();
+        }
+
+        int[] documents = IntStream.of(matches.toArray()).sorted().distinct().toArray();
+        double[] scores = new double[documents.length];
+        for (Map.Entry<Integer, Postings> term : decoded.entrySet()) {
+            Postings postings = term.getValue();
+            double idf = Math.log(1 + (lengths.length - postings.size + 0.5) / (postings.size + 0.5));
+            for (int i = 0; i < documents.length; i++) {
+                int frequency = postings.frequency(documents[i]);
+                if (frequency > 0) {
+                    double norm = K1 * (1 - B + B * lengths[documents[i]] / averageLength);
+                    scores[i] += idf * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+        }
+        return IntStream.range(0, documents.length)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> -scores[i]).thenComparingInt(i -> documents[i]))
+                .limit(limit)
+                .mapToInt(i -> documents[i])
+                .toArray();
+    }
+
+    /**
+     * Adds the documents containing every one of the supplied terms to the supplied matches, starting from the postings
+     * of the rarest term.
+     *
+     * @param group   the terms.
+     * @param decoded the decoded postings of each term id, which the postings of the terms are added to.
+     * @param filter  returns true for the documents which may be returned.
+     * @param matches receives the matching documents.
+     */
+    private void match(List<String> group, Map<Integer, Postings> decoded, IntPredicate filter, IntList matches) {
+        List<Postings> lists = new ArrayList<>();
+        for (String term : group) {
+            int id = terms.id(term);
+            if (id < 0) {
+                return;
+            }
+            lists.add(decoded.computeIfAbsent(id, this::decode));
+        }
+        if (lists.isEmpty()) {
+            return;
+        }
+
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        Postings rarest = lists.get(0);
+        next:
+        for (int i = 0; i < rarest.size; i++) {
+            int document = rarest.documents[i];
+            for (int j = 1; j < lists.size(); j++) {
+                if (lists.get(j).frequency(document) == 0) {
+                    continue next;
+                }
+            }
+            if (filter.test(document)) {
+                matches.add(document);
+            }
+        }
+    }
+
+    private Postings decode(int id) {
+        Postings decoded = new Postings(documentFrequencies[id]);
+        int[] position = {postingStart[id]};
+        int document = 0;
+        for (int i = 0; i < decoded.size; i++) {
+            document += readInt(postings, position);
+            decoded.documents[i] = document;
+            decoded.frequencies[i] = readInt(postings, position);
+        }
+        return decoded;
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readInt(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * The decoded postings of one term.
+     */
+    private static final class Postings {
+        private final int size;
+        private final int[] documents;
+        private final int[] frequencies;
+
+        Postings(int size) {
+            this.size = size;
+            documents = new int[size];
+            frequencies = new int[size];
+        }
+
+        /**
+         * Returns the number of times the term occurs in the supplied document.
+         *
+         * @param document the document id.
+         * @return the number of occurrences or zero if the term does not occur in the document.
+         */
+        int frequency(int document) {
+            int index = Arrays.binarySearch(documents, document);
+            return index < 0 ? 0 : frequencies[index];
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Reads the gloss, meaning the definition and usages, of a synset on demand from the memory-mapped Princeton WordNet
+ * data file. The first field of every data line is the byte offset of the line within its file, so a synset's gloss
+ * is found without keeping any of the gloss strings on the heap.
+ * </p>
+ * <p>
+ * Each data file is mapped the first time one of its glosses is read. The most recently read glosses are optionally
+ * kept in a small cache.
+ * </p>
+ */
+class GlossReader implements GlossSource {
+    private final Map<DefinitionType, ByteBuffer> files = new EnumMap<>(DefinitionType.class);
+    private final BoundedCache<Long, DataFileParser.Gloss> cache;
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param cacheSize the number of glosses to cache or zero to read the data file every time.
+     */
+    GlossReader(int cacheSize) {
+        this.cache = new BoundedCache<>(cacheSize);
+    }
+
+    @Override
+    public DataFileParser.Gloss read(DefinitionType type, int offset) {
+        return cache.get(((long) type.ordinal() << 32) | offset, key -> parse(type, offset));
+    }
+
+    private DataFileParser.Gloss parse(DefinitionType type, int offset) {
+        ByteBuffer file = file(type);
+        int end = offset;
+        while (end < file.limit() && file.get(end) != '\n') {
+            end++;
+        }
+
+        byte[] line = new byte[end - offset];
+        file.duplicate().position(offset).get(line);
+        return DataFileParser.gloss(line, 0, line.length);
+    }
+
+    /**
+     * Returns the mapped data file of the supplied type, mapping it on first use.
+     *
+     * @param type the definition type.
+     * @return the mapped file.
+     */
+    private synchronized ByteBuffer file(DefinitionType type) {
+        return files.computeIfAbsent(type, t -> {
+            String fileName = DictionaryLoader.fileName(t);
+            URL u = getClass().getResource(fileName);
+            if (u == null) {
+                throw new IllegalArgumentException(fileName + " is not found");
+            }
+            return MappedFiles.map(u, ".data");
+        });
+    }
+}
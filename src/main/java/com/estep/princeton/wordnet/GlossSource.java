@@ -0,0 +1,27 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+/**
+ * Provides the gloss, meaning the definition and usages, of a synset which does not keep its gloss on the heap.
+ */
+interface GlossSource {
+    /**
+     * Returns the gloss of the synset found at the supplied offset of the data file of the supplied type.
+     *
+     * @param type   the definition type of the synset.
+     * @param offset the byte offset of the synset's line within the data file.
+     * @return the gloss.
+     */
+    DataFileParser.Gloss read(DefinitionType type, int offset);
+}
@@ -0,0 +1,33 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+/**
+ * How the glosses, meaning the definitions and usages, parsed from the WordNet text files are stored.
+ */
+enum GlossStorage {
+    /**
+     * Every gloss is kept on the heap as strings.
+     */
+    RESIDENT,
+    /**
+     * The glosses of each data file are kept on the heap as {@link CompressedGlosses} and a gloss is inflated each
+     * time it is requested.
+     */
+    COMPRESSED,
+    /**
+     * No gloss is kept on the heap and a gloss is read from the memory-mapped data file by {@link GlossReader} each
+     * time it is requested.
+     */
+    ON_DEMAND
+}
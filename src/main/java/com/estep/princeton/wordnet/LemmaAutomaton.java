@@ -0,0 +1,533 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * A lemma store held as a minimal deterministic acyclic finite state automaton over the UTF-8 bytes of the lemmas.
+ * Lemmas which share a prefix share the states of that prefix, and lemmas which share a suffix share the states of
+ * that suffix, so the lemmas take a fraction of the memory of a table of their bytes. Each state records the number
+ * of lemmas accepted from it, which maps every lemma to its rank and back, so the automaton is also a perfect hash of
+ * the lemmas in sorted order.
+ * </p>
+ * <p>
+ * The automaton is one byte array, which is also its serialized form, so a written automaton is memory-mapped back
+ * without being rebuilt. Every state is written after the states it leads to, and is laid out as variable length
+ * ints of seven bits per byte:
+ * </p>
+ * <pre>
+ * state        the number of lemmas accepted from the state shifted left once, or'd with 1 if the state is final
+ * count        the number of transitions
+ * transitions  the byte label of each transition followed by the distance back to its target state, sorted by label
+ * </pre>
+ * <p>
+ * The file adds a header of the magic, version, root state, and number of lemmas as big-endian ints, the fingerprint
+ * of the lemmas as a big-endian long, and the number of bytes as a big-endian int. The fingerprint is the sum of a
+ * hash of each lemma, so it is computed from the lemmas in any order.
+ * </p>
+ * <p>
+ * The build compiles the automaton of the lemmas of the full dictionary (wordnet.automaton) along with the snapshot.
+ * {@link #load(Collection)} maps the compiled automaton, rather than building one, when it holds exactly the lemmas
+ * being loaded, which is checked by comparing their number and fingerprint.
+ * </p>
+ */
+final class LemmaAutomaton implements LemmaStore {
+    /**
+     * The classpath resource name of the automaton compiled at build time.
+     */
+    static final String RESOURCE_NAME = "/wordnet.automaton";
+    static final int MAGIC = 0x574E4641;
+    static final int VERSION = 2;
+    private static final int HEADER_LENGTH = 28;
+
+    private final ByteBuffer states;
+    private final int root;
+    private final int size;
+    private final long fingerprint;
+
+    private LemmaAutomaton(ByteBuffer states, int root, int size, long fingerprint) {
+        this.states = states;
+        this.root = root;
+        this.size = size;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Builds the automaton accepting the supplied lemmas.
+     *
+     * @param lemmas the lemmas, which may contain duplicates.
+     * @return the automaton.
+     */
+    static LemmaAutomaton build(Collection<String> lemmas) {
+        Builder builder = new Builder();
+        byte[][] sorted = LemmaTable.sorted(lemmas);
+        long fingerprint = 0;
+        for (byte[] lemma : sorted) {
+            builder.add(lemma);
+            fingerprint += hash(lemma);
+        }
+        return builder.finish(sorted.length, fingerprint);
+    }
+
+    /**
+     * Returns the automaton accepting the supplied lemmas, which is the automaton compiled at build time when it
+     * accepts exactly these lemmas, and otherwise is built.
+     *
+     * @param lemmas the lemmas, which may contain duplicates.
+     * @return the automaton.
+     */
+    static LemmaAutomaton load(Collection<String> lemmas) {
+        return load(lemmas, Compiled.AUTOMATON);
+    }
+
+    /**
+     * Returns the supplied compiled automaton when it accepts exactly the supplied lemmas, and otherwise builds the
+     * automaton of the lemmas.
+     *
+     * @param lemmas   the lemmas, which may contain duplicates.
+     * @param compiled the compiled automaton or null if there is none.
+     * @return the automaton.
+     */
+    static LemmaAutomaton load(Collection<String> lemmas, LemmaAutomaton compiled) {
+        if (compiled != null) {
+            Set<String> distinct = new HashSet<>(lemmas);
+            long fingerprint = 0;
+            for (String lemma : distinct) {
+                fingerprint += hash(lemma.getBytes(StandardCharsets.UTF_8));
+            }
+            if (compiled.size == distinct.size() && compiled.fingerprint == fingerprint) {
+                return compiled;
+            }
+        }
+        return build(lemmas);
+    }
+
+    /**
+     * Memory maps the automaton written to the supplied path.
+     *
+     * @param path the automaton file.
+     * @return the automaton.
+     */
+    static LemmaAutomaton open(Path path) {
+        return read(MappedFiles.map(path));
+    }
+
+    /**
+     * Reads the automaton held within the supplied bytes. The states are read directly from the bytes.
+     *
+     * @param buffer the serialized automaton.
+     * @return the automaton.
+     */
+    static LemmaAutomaton read(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("the supplied file is not a lemma automaton");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IllegalStateException("lemma automaton version " + version + " is not supported");
+        }
+
+        int root = buffer.getInt(8);
+        int size = buffer.getInt(12);
+        long fingerprint = buffer.getLong(16);
+        int length = buffer.getInt(24);
+        return new LemmaAutomaton(DictionarySnapshot.section(buffer, HEADER_LENGTH, length), root, size,
+                fingerprint);
+    }
+
+    /**
+     * Writes the automaton to the supplied path.
+     *
+     * @param path the automaton file to create.
+     */
+    void write(Path path) {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(out);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Writes the automaton to the supplied stream.
+     *
+     * @param out the stream to write to.
+     * @throws IOException thrown if the stream cannot be written to.
+     */
+    void write(OutputStream out) throws IOException {
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.writeInt(MAGIC);
+        dos.writeInt(VERSION);
+        dos.writeInt(root);
+        dos.writeInt(size);
+        dos.writeLong(fingerprint);
+        dos.writeInt(states.limit());
+        for (int i = 0; i < states.limit(); i++) {
+            dos.writeByte(states.get(i));
+        }
+        dos.flush();
+    }
+
+    /**
+     * Returns the number of bytes held by the states of the automaton.
+     *
+     * @return the number of bytes.
+     */
+    int byteLength() {
+        return states.limit();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int id(String lemma) {
+        int[] rank = new int[1];
+        int state = walk(lemma.getBytes(StandardCharsets.UTF_8), rank);
+        return state >= 0 && isFinal(state) ? rank[0] : -1;
+    }
+
+    @Override
+    public String lemma(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("lemma id " + id + " is out of range");
+        }
+
+        byte[] bytes = new byte[16];
+        int length = 0;
+        int[] position = new int[1];
+        int state = root;
+        int rank = id;
+        while (!isFinal(state) || rank > 0) {
+            if (isFinal(state)) {
+                rank--;
+            }
+
+            position[0] = state;
+            readInt(position);
+            readInt(position);
+            while (true) {
+                byte label = states.get(position[0]++);
+                int target = state - readInt(position);
+                if (rank < lemmaCount(target)) {
+                    if (length == bytes.length) {
+                        bytes = Arrays.copyOf(bytes, length * 2);
+                    }
+                    bytes[length++] = label;
+                    state = target;
+                    break;
+                }
+                rank -= lemmaCount(target);
+            }
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int rank(byte[] key) {
+        int[] rank = new int[1];
+        walk(key, rank);
+        return rank[0];
+    }
+
+    /**
+     * Follows the transitions labelled by the supplied key from the root, counting the lemmas which sort before the
+     * key along the way.
+     *
+     * @param key  the UTF-8 bytes of the key.
+     * @param rank populated with the number of lemmas which sort before the key.
+     * @return the state the key leads to or -1 if no lemma starts with the key.
+     */
+    private int walk(byte[] key, int[] rank) {
+        int[] position = new int[1];
+        int state = root;
+        for (byte b : key) {
+            position[0] = state;
+            if ((readInt(position) & 1) != 0) {
+                rank[0]++;
+            }
+
+            int label = Byte.toUnsignedInt(b);
+            int next = -1;
+            int count = readInt(position);
+            for (int t = 0; t < count; t++) {
+                int transitionLabel = Byte.toUnsignedInt(states.get(position[0]++));
+                int target = state - readInt(position);
+                if (transitionLabel == label) {
+                    next = target;
+                    break;
+                } else if (transitionLabel > label) {
+                    break;
+                }
+                rank[0] += lemmaCount(target);
+            }
+            if (next < 0) {
+                return -1;
+            }
+            state = next;
+        }
+        return state;
+    }
+
+    /**
+     * Reports the id and edit distance of each lemma within the supplied number of edits of the supplied word, in
+     * sorted order, by walking the automaton as a trie and pruning each prefix which cannot match.
+     *
+     * @param word     the UTF-8 bytes of the misspelled word.
+     * @param maxEdits the maximum number of edits.
+     * @param matches  receives the matching lemmas.
+     * @see FuzzyMatcher
+     */
+    void match(byte[] word, int maxEdits, FuzzyMatcher.Matches matches) {
+        int[][] rows = FuzzyMatcher.rows(word, maxEdits);
+        match(root, 0, 0, new byte[rows.length], word, maxEdits, rows, matches);
+    }
+
+    private void match(int state, int depth, int rank, byte[] prefix, byte[] word, int maxEdits, int[][] rows,
+                       FuzzyMatcher.Matches matches) {
+        int[] position = {state};
+        if ((readInt(position) & 1) != 0) {
+            if (rows[depth][word.length] <= maxEdits) {
+                matches.match(rank, rows[depth][word.length]);
+            }
+            rank++;
+        }
+
+        int count = readInt(position);
+        for (int t = 0; t < count; t++) {
+            byte label = states.get(position[0]++);
+            int target = state - readInt(position);
+            if (depth + 1 < rows.length) {
+                prefix[depth] = label;
+                if (FuzzyMatcher.row(rows, depth + 1, prefix, word) <= maxEdits) {
+                    match(target, depth + 1, rank, prefix, word, maxEdits, rows, matches);
+                }
+            }
+            rank += lemmaCount(target);
+        }
+    }
+
+    private boolean isFinal(int state) {
+        return (states.get(state) & 1) != 0;
+    }
+
+    private int lemmaCount(int state) {
+        int value = 0;
+        for (int shift = 0, position = state; ; shift += 7) {
+            byte b = states.get(position++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value >>> 1;
+            }
+        }
+    }
+
+    private int readInt(int[] position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = states.get(position[0]++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Builds the minimal automaton from lemmas supplied in sorted order, as described by Daciuk et al. in Incremental
+     * Construction of Minimal Acyclic Finite-State Automata. Once a lemma is added, the states of the previous lemma
+     * which are not on the path of the new lemma can no longer change, so each of them is replaced by an equivalent
+     * state already registered or is registered itself.
+     */
+    private static class Builder {
+        private final State start = new State();
+        private final Map<State, State> register = new HashMap<>();
+        private byte[] previous = new byte[0];
+
+        void add(byte[] lemma) {
+            int common = 0;
+            State state = start;
+            while (common < lemma.length && common < previous.length && lemma[common] == previous[common]) {
+                state = state.last();
+                common++;
+            }
+            if (state.count > 0) {
+                replaceOrRegister(state);
+            }
+            for (int i = common; i < lemma.length; i++) {
+                State next = new State();
+                state.add(lemma[i], next);
+                state = next;
+            }
+            state.accepting = true;
+            previous = lemma;
+        }
+
+        LemmaAutomaton finish(int size, long fingerprint) {
+            if (start.count > 0) {
+                replaceOrRegister(start);
+            }
+            ByteArrayOutputStream states = new ByteArrayOutputStream();
+            write(start, states);
+            return new LemmaAutomaton(ByteBuffer.wrap(states.toByteArray()), start.position, size, fingerprint);
+        }
+
+        private void replaceOrRegister(State state) {
+            State child = state.last();
+            if (child.count > 0) {
+                replaceOrRegister(child);
+            }
+            State registered = register.putIfAbsent(child, child);
+            if (registered != null) {
+                state.targets[state.count - 1] = registered;
+            }
+        }
+
+        /**
+         * Writes the supplied state after every state reachable from it, so that the number of lemmas accepted from
+         * each target is known when the state is written.
+         *
+         * @param state  the state.
+         * @param states the states written so far.
+         */
+        private void write(State state, ByteArrayOutputStream states) {
+            if (state.position >= 0) {
+                return;
+            }
+
+            int lemmaCount = state.accepting ? 1 : 0;
+            for (int i = 0; i < state.count; i++) {
+                write(state.targets[i], states);
+                lemmaCount += state.targets[i].lemmaCount;
+            }
+            state.lemmaCount = lemmaCount;
+            state.position = states.size();
+
+            writeInt(states, lemmaCount << 1 | (state.accepting ? 1 : 0));
+            writeInt(states, state.count);
+            for (int i = 0; i < state.count; i++) {
+                states.write(state.labels[i]);
+                writeInt(states, state.position - state.targets[i].position);
+            }
+        }
+    }
+
+    /**
+     * Hashes the UTF-8 bytes of a lemma with 64 bit FNV-1a, finished with the SplitMix64 mixer so the sum of the
+     * hashes of a set of lemmas depends on every bit of each hash.
+     *
+     * @param lemma the UTF-8 bytes of the lemma.
+     * @return the hash.
+     */
+    private static long hash(byte[] lemma) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : lemma) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * Holds the automaton compiled at build time, which is mapped on first use, or null when none is packaged.
+     */
+    private static final class Compiled {
+        private static final LemmaAutomaton AUTOMATON = open();
+
+        private static LemmaAutomaton open() {
+            URL resource = LemmaAutomaton.class.getResource(RESOURCE_NAME);
+            return resource == null ? null : read(MappedFiles.map(resource, ".automaton"));
+        }
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * A state of the automaton while it is built. Two states are equal when both are final or both are not, and
+     * they have the same labels leading to the same target instances.
+     */
+    private static class State {
+        private boolean accepting;
+        private byte[] labels = new byte[1];
+        private State[] targets = new State[1];
+        private int count;
+        private int position = -1;
+        private int lemmaCount;
+
+        State last() {
+            return targets[count - 1];
+        }
+
+        void add(byte label, State target) {
+            if (count == labels.length) {
+                labels = Arrays.copyOf(labels, count * 2);
+                targets = Arrays.copyOf(targets, count * 2);
+            }
+            labels[count] = label;
+            targets[count] = target;
+            count++;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof State)) {
+                return false;
+            }
+            State other = (State) o;
+            if (accepting != other.accepting || count != other.count) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if (labels[i] != other.labels[i] || targets[i] != other.targets[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = accepting ? 1 : 0;
+            for (int i = 0; i < count; i++) {
+                hash = 31 * (31 * hash + labels[i]) + System.identityHashCode(targets[i]);
+            }
+            return hash;
+        }
+    }
+}
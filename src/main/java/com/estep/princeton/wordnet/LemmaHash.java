@@ -0,0 +1,256 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>
+ * A minimal perfect hash over a fixed set of keys, built with the hash and displace method. Every key is first hashed
+ * in to one of a small number of buckets. The buckets are then placed largest first: for each bucket a displacement is
+ * searched for which sends every key of the bucket to a distinct free slot. Each of the n keys ends up in its own slot
+ * between 0 and n - 1, and a lookup costs two hash mixes and two array reads regardless of the number of keys.
+ * </p>
+ * <p>
+ * A minimal perfect hash maps a key which is not in the set to an arbitrary slot, so each slot also keeps an 8-bit
+ * fingerprint of its key. Most misses are rejected by the fingerprint, and the caller verifies the remaining
+ * candidates against the key itself. The whole index takes roughly six bytes per key.
+ * </p>
+ * <p>
+ * The index is written in to the {@link DictionarySnapshot} and mapped back from it, so it is held in buffers rather
+ * than arrays.
+ * </p>
+ */
+final class LemmaHash {
+    private static final int BUCKET_SIZE = 4;
+    private static final long DISPLACEMENT = 0x9E3779B97F4A7C15L;
+    private static final int MAX_DISPLACEMENT = 1 << 26;
+
+    private final IntBuffer displacements;
+    private final IntBuffer values;
+    private final ByteBuffer fingerprints;
+
+    /**
+     * Builds the hash over the supplied distinct keys, mapping each key to the supplied value of the same index.
+     *
+     * @param keys   the distinct keys.
+     * @param values the value of each key.
+     */
+    LemmaHash(List<String> keys, int[] values) {
+        int n = keys.size();
+        int bucketCount = bucketCount(n);
+        this.displacements = IntBuffer.allocate(bucketCount);
+        this.values = IntBuffer.allocate(n);
+        this.fingerprints = ByteBuffer.allocate(n);
+
+        long[] hashes = new long[n];
+        List<List<Integer>> buckets = new ArrayList<>(bucketCount);
+        for (int b = 0; b < bucketCount; b++) {
+            buckets.add(new ArrayList<>(BUCKET_SIZE));
+        }
+        for (int i = 0; i < n; i++) {
+            hashes[i] = hash(keys.get(i));
+            buckets.get(bucket(hashes[i], bucketCount)).add(i);
+        }
+
+        Integer[] order = new Integer[bucketCount];
+        Arrays.setAll(order, b -> b);
+        Arrays.sort(order, Comparator.comparingInt((Integer b) -> buckets.get(b).size()).reversed());
+
+        boolean[] taken = new boolean[n];
+        int[] slots = new int[BUCKET_SIZE * 8];
+        for (int b : order) {
+            List<Integer> bucket = buckets.get(b);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            if (slots.length < bucket.size()) {
+                slots = new int[bucket.size()];
+            }
+
+            for (int d = 0; ; d++) {
+                if (d == MAX_DISPLACEMENT) {
+                    throw new IllegalStateException("the keys cannot be perfectly hashed; are they distinct?");
+                }
+                if (place(bucket, hashes, d, taken, slots)) {
+                    displacements.put(b, d);
+                    for (int k = 0; k < bucket.size(); k++) {
+                        int key = bucket.get(k);
+                        taken[slots[k]] = true;
+                        this.values.put(slots[k], values[key]);
+                        this.fingerprints.put(slots[k], fingerprint(hashes[key]));
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates an instance of this class over a hash mapped from a snapshot.
+     *
+     * @param displacements the displacement of each bucket.
+     * @param values        the value of the key in each slot.
+     * @param fingerprints  the fingerprint of the key in each slot.
+     */
+    LemmaHash(IntBuffer displacements, IntBuffer values, ByteBuffer fingerprints) {
+        this.displacements = displacements;
+        this.values = values;
+        this.fingerprints = fingerprints;
+    }
+
+    /**
+     * Returns the number of buckets of a hash over the supplied number of keys.
+     *
+     * @param keyCount the number of keys.
+     * @return the number of buckets.
+     */
+    static int bucketCount(int keyCount) {
+        return Math.max(1, keyCount / BUCKET_SIZE);
+    }
+
+    /**
+     * Tries the supplied displacement for the supplied bucket.
+     *
+     * @param bucket the indexes of the keys within the bucket.
+     * @param hashes the hash of every key.
+     * @param d      the displacement.
+     * @param taken  the slots already taken.
+     * @param slots  populated with the slot of each key of the bucket.
+     * @return true if every key of the bucket lands on a distinct free slot.
+     */
+    private boolean place(List<Integer> bucket, long[] hashes, int d, boolean[] taken, int[] slots) {
+        for (int k = 0; k < bucket.size(); k++) {
+            int slot = slot(hashes[bucket.get(k)], d, taken.length);
+            if (taken[slot]) {
+                return false;
+            }
+            for (int j = 0; j < k; j++) {
+                if (slots[j] == slot) {
+                    return false;
+                }
+            }
+            slots[k] = slot;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the slot the supplied key would occupy if it is one of the keys.
+     *
+     * @param key the key.
+     * @return the slot or -1 if the key's fingerprint does not match, meaning the key is not one of the keys.
+     */
+    int slot(String key) {
+        int n = values.limit();
+        if (n == 0) {
+            return -1;
+        }
+
+        long hash = hash(key);
+        int slot = slot(hash, displacements.get(bucket(hash, displacements.limit())), n);
+        return fingerprints.get(slot) == fingerprint(hash) ? slot : -1;
+    }
+
+    /**
+     * Returns the value of the key found in the supplied slot.
+     *
+     * @param slot the slot.
+     * @return the value.
+     */
+    int value(int slot) {
+        return values.get(slot);
+    }
+
+    /**
+     * Writes the displacements, the values, and the fingerprints in the layout the {@link DictionarySnapshot} maps
+     * them back from. Only a hash built from its keys can be written.
+     *
+     * @param dos the stream to write to.
+     * @throws IOException thrown if the stream cannot be written to.
+     */
+    void write(DataOutputStream dos) throws IOException {
+        DictionarySnapshot.writeInts(dos, displacements.array());
+        DictionarySnapshot.writeInts(dos, values.array());
+        DictionarySnapshot.writeBytes(dos, fingerprints.array());
+    }
+
+    /**
+     * Hashes the characters of the supplied key, four characters per multiply.
+     *
+     * @param key the key.
+     * @return the hash.
+     */
+    private static long hash(String key) {
+        int length = key.length();
+        long hash = 0xCBF29CE484222325L ^ length;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            long block = key.charAt(i) | (long) key.charAt(i + 1) << 16 | (long) key.charAt(i + 2) << 32
+                    | (long) key.charAt(i + 3) << 48;
+            hash = (hash ^ block) * DISPLACEMENT;
+            hash ^= hash >>> 29;
+        }
+        long block = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            block |= (long) key.charAt(i) << shift;
+        }
+        return mix(hash ^ block);
+    }
+
+    private static int bucket(long hash, int bucketCount) {
+        return reduce(hash, bucketCount);
+    }
+
+    private static int slot(long hash, int d, int n) {
+        return reduce(d == 0 ? hash : mix(hash ^ (d * DISPLACEMENT)), n);
+    }
+
+    /**
+     * Maps the low 32 bits of the supplied hash on to the range 0 to n - 1 with a multiply and shift rather than a
+     * division.
+     *
+     * @param hash the hash.
+     * @param n    the size of the range.
+     * @return the value within the range.
+     */
+    private static int reduce(long hash, int n) {
+        return (int) (((hash & 0xFFFFFFFFL) * n) >>> 32);
+    }
+
+    private static byte fingerprint(long hash) {
+        return (byte) (hash >>> 56);
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3, which spreads every input bit over the whole hash.
+     *
+     * @param hash the value to mix.
+     * @return the mixed value.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85A53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
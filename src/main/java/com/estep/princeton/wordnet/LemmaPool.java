@@ -0,0 +1,50 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Deduplicates the lemma strings created while loading the dictionary. The same lemma is found as a word, within the
+ * synonyms of every synset it belongs to, and within the additional datasets. Passing every lemma through one pool
+ * makes each distinct lemma a single String instance shared by all of those places.
+ * </p>
+ * <p>
+ * The pool is only needed while loading and may be shared by files parsed in parallel.
+ * </p>
+ */
+class LemmaPool {
+    private final Map<String, String> lemmas = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the pooled instance equal to the supplied lemma, adding the lemma to the pool if it is not pooled.
+     *
+     * @param lemma the lemma.
+     * @return the pooled instance.
+     */
+    String intern(String lemma) {
+        String pooled = lemmas.putIfAbsent(lemma, lemma);
+        return pooled == null ? lemma : pooled;
+    }
+
+    /**
+     * Returns the number of distinct lemmas pooled.
+     *
+     * @return the number of lemmas.
+     */
+    int size() {
+        return lemmas.size();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+/**
+ * A fixed set of distinct lemmas, each identified by an int id. The ids run from zero to one less than the number of
+ * lemmas and are the rank of each lemma when the lemmas are sorted by their UTF-8 bytes, so the lemmas are iterated
+ * in order by iterating the ids.
+ */
+interface LemmaStore {
+    /**
+     * Returns the number of lemmas in the store.
+     *
+     * @return the number of lemmas.
+     */
+    int size();
+
+    /**
+     * Returns the id of the supplied lemma.
+     *
+     * @param lemma the lemma.
+     * @return the id or -1 if the lemma is not in the store.
+     */
+    int id(String lemma);
+
+    /**
+     * Decodes the lemma with the supplied id.
+     *
+     * @param id the id.
+     * @return the lemma.
+     */
+    String lemma(int id);
+
+    /**
+     * Returns the number of lemmas whose UTF-8 bytes sort before the supplied key, which is the id of the key when
+     * the key is in the store and otherwise the id the key would have.
+     *
+     * @param key the UTF-8 bytes of the key.
+     * @return the rank of the key.
+     */
+    int rank(byte[] key);
+}
@@ -0,0 +1,165 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * A table of distinct lemmas, each identified by an int id. The UTF-8 bytes of every lemma are held in one backing
+ * array with an int array of offsets in to it, so the table holds no String instances. The lemmas are sorted by their
+ * UTF-8 bytes, so an id is the rank of its lemma and the lemmas can be iterated in order.
+ * </p>
+ * <p>
+ * Ids are found through a {@link LemmaHash}, a minimal perfect hash over the lemmas, and the candidate lemma is then
+ * compared with the requested lemma to reject a lemma which is not in the table.
+ * </p>
+ */
+final class LemmaTable implements LemmaStore {
+    private final byte[] bytes;
+    private final int[] offsets;
+    private final LemmaHash hash;
+
+    /**
+     * Creates a table containing the supplied lemmas.
+     *
+     * @param lemmas the lemmas, which may contain duplicates.
+     */
+    LemmaTable(Collection<String> lemmas) {
+        byte[][] encoded = sorted(lemmas);
+
+        offsets = new int[encoded.length + 1];
+        int length = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            offsets[i] = length;
+            length += encoded[i].length;
+        }
+        offsets[encoded.length] = length;
+
+        bytes = new byte[length];
+        for (int i = 0; i < encoded.length; i++) {
+            System.arraycopy(encoded[i], 0, bytes, offsets[i], encoded[i].length);
+        }
+
+        List<String> keys = new ArrayList<>(encoded.length);
+        for (int id = 0; id < encoded.length; id++) {
+            keys.add(lemma(id));
+        }
+        hash = new LemmaHash(keys, IntStream.range(0, encoded.length).toArray());
+    }
+
+    /**
+     * Returns the UTF-8 bytes of the distinct supplied lemmas, sorted.
+     *
+     * @param lemmas the lemmas, which may contain duplicates.
+     * @return the sorted bytes of each distinct lemma.
+     */
+    static byte[][] sorted(Collection<String> lemmas) {
+        return lemmas.stream()
+                .distinct()
+                .map(lemma -> lemma.getBytes(StandardCharsets.UTF_8))
+                .sorted(Arrays::compareUnsigned)
+                .toArray(byte[][]::new);
+    }
+
+    @Override
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of UTF-8 bytes held by the table.
+     *
+     * @return the number of bytes.
+     */
+    int byteLength() {
+        return bytes.length;
+    }
+
+    @Override
+    public int id(String lemma) {
+        int slot = hash.slot(lemma);
+        if (slot < 0) {
+            return -1;
+        }
+        int id = hash.value(slot);
+        return matches(id, lemma) ? id : -1;
+    }
+
+    /**
+     * Returns true if the lemma with the supplied id equals the supplied lemma. ASCII lemmas are compared character
+     * by character without encoding the supplied lemma.
+     *
+     * @param id    the id.
+     * @param lemma the lemma.
+     * @return true if equal.
+     */
+    private boolean matches(int id, String lemma) {
+        int start = offsets[id];
+        int length = offsets[id + 1] - start;
+        if (length == lemma.length()) {
+            int i = 0;
+            while (i < length && bytes[start + i] >= 0 && bytes[start + i] == lemma.charAt(i)) {
+                i++;
+            }
+            if (i == length) {
+                return true;
+            } else if (bytes[start + i] >= 0 && lemma.charAt(i) < 0x80) {
+                return false;
+            }
+        } else if (length < lemma.length()) {
+            // UTF-8 is never shorter than the number of chars
+            return false;
+        }
+        return compare(id, lemma.getBytes(StandardCharsets.UTF_8)) == 0;
+    }
+
+    @Override
+    public String lemma(int id) {
+        return new String(bytes, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int rank(byte[] key) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares the UTF-8 bytes of the lemma with the supplied id to the supplied key.
+     *
+     * @param id  the id.
+     * @param key the UTF-8 bytes of the key.
+     * @return a negative number, zero, or a positive number as the lemma is less than, equal to, or greater than the
+     * key.
+     */
+    int compare(int id, byte[] key) {
+        int start = offsets[id];
+        int length = offsets[id + 1] - start;
+        return Arrays.compareUnsigned(bytes, start, start + length, key, 0, key.length);
+    }
+}
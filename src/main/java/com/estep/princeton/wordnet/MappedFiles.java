@@ -0,0 +1,73 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory maps files and classpath resources read only.
+ */
+final class MappedFiles {
+    private MappedFiles() {
+    }
+
+    /**
+     * Memory maps the supplied classpath resource. A resource packaged within a jar is first copied to a temporary
+     * file since only files can be mapped.
+     *
+     * @param resource the location of the resource.
+     * @param suffix   the suffix of the temporary file.
+     * @return the mapped bytes.
+     */
+    static MappedByteBuffer map(URL resource, String suffix) {
+        try {
+            Path path;
+            if ("file".equals(resource.getProtocol())) {
+                path = Paths.get(resource.toURI());
+            } else {
+                path = Files.createTempFile("wordnet", suffix);
+                path.toFile().deleteOnExit();
+                try (InputStream in = resource.openStream()) {
+                    Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            return map(path);
+        } catch (IOException | URISyntaxException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Memory maps the file found at the supplied path.
+     *
+     * @param path the file.
+     * @return the mapped bytes.
+     */
+    static MappedByteBuffer map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+}
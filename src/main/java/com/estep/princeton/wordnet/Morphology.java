@@ -0,0 +1,249 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * Resolves an inflected word, such as "geese" or "running", to the base forms which are words of the dictionary, the
+ * same way as the morphy function of WordNet. For each definition type the word is first looked up in the exception
+ * list of that type, which maps the irregular forms to their base forms, and is then detached from each of the
+ * inflectional endings of that type. Only the candidates which are words of that type are base forms.
+ * </p>
+ * <p>
+ * The exception lists are the noun.exc, verb.exc, adj.exc, and adv.exc files of the WordNet distribution, each line
+ * holding an inflected form followed by its base forms. They are read from the classpath on first use and a file
+ * which is not on the classpath is treated as empty. Since the exception lists hold the verbs and adjectives which
+ * double their final consonant, such as "running" and "hotter", a candidate ending in a doubled consonant is also
+ * tried with a single consonant.
+ * </p>
+ * <p>
+ * The resolved base forms are cached, because the words of a document are mostly the same few words. A word which
+ * has no base forms is not cached, so misspelled words do not evict the common words.
+ * </p>
+ */
+final class Morphology {
+    private static final String[][] NOUN_RULES = {
+            {"s", ""}, {"ses", "s"}, {"xes", "x"}, {"zes", "z"}, {"ches", "ch"}, {"shes", "sh"}, {"men", "man"},
+            {"ies", "y"}};
+    private static final String[][] VERB_RULES = {
+            {"s", ""}, {"ies", "y"}, {"es", "e"}, {"es", ""}, {"ed", "e"}, {"ed", ""}, {"ing", "e"}, {"ing", ""}};
+    private static final String[][] ADJECTIVE_RULES = {
+            {"er", ""}, {"est", ""}, {"er", "e"}, {"est", "e"}};
+    private static final String[][] ADVERB_RULES = {};
+    private static final DefinitionType[] TYPES = DefinitionType.values();
+
+    private final BoundedCache<Key, List<String>> cache;
+    private volatile Map<DefinitionType, Map<String, List<String>>> exceptions;
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param cacheSize the number of words whose base forms are cached.
+     */
+    Morphology(int cacheSize) {
+        this.cache = new BoundedCache<>(cacheSize);
+    }
+
+    /**
+     * Returns the base forms of the supplied word which are words of the supplied definition types. The base forms
+     * are ordered by their definition type and then by the order the rules found them, and the word itself is its
+     * own first base form when it is a word of the type.
+     *
+     * @param dictionary the dictionary data to find the base forms in.
+     * @param word       the lower case word.
+     * @param types      the bitmask of the definition types.
+     * @return the base forms or an empty list if none exist.
+     */
+    List<String> baseForms(DictionaryData dictionary, String word, int types) {
+        List<String> baseForms = cache.get(new Key(word, types), key -> resolve(dictionary, word, types));
+        return baseForms == null ? Collections.emptyList() : baseForms;
+    }
+
+    /**
+     * Resolves the base forms of the supplied word.
+     *
+     * @param dictionary the dictionary data to find the base forms in.
+     * @param word       the lower case word.
+     * @param types      the bitmask of the definition types.
+     * @return the base forms or null if none exist.
+     */
+    private List<String> resolve(DictionaryData dictionary, String word, int types) {
+        Set<String> baseForms = new LinkedHashSet<>();
+        for (DefinitionType type : TYPES) {
+            if ((types & type.mask()) == 0) {
+                continue;
+            }
+
+            List<String> candidates = new ArrayList<>();
+            candidates.add(word);
+            candidates.addAll(exceptions().get(type).getOrDefault(word, Collections.emptyList()));
+            for (String[] rule : rules(type)) {
+                if (word.length() > rule[0].length() && word.endsWith(rule[0])) {
+                    String stem = word.substring(0, word.length() - rule[0].length());
+                    candidates.add(stem + rule[1]);
+                    if (rule[1].isEmpty() && hasDoubledConsonant(stem)) {
+                        candidates.add(stem.substring(0, stem.length() - 1));
+                    }
+                }
+            }
+
+            for (String candidate : candidates) {
+                if ((dictionary.getDefinitionTypes(candidate) & type.mask()) != 0) {
+                    baseForms.add(candidate);
+                }
+            }
+        }
+        return baseForms.isEmpty() ? null : List.copyOf(baseForms);
+    }
+
+    private static String[][] rules(DefinitionType type) {
+        switch (type) {
+            case NOUN:
+                return NOUN_RULES;
+            case VERB:
+                return VERB_RULES;
+            case ADVERB:
+                return ADVERB_RULES;
+            default:
+                return ADJECTIVE_RULES;
+        }
+    }
+
+    private static boolean hasDoubledConsonant(String stem) {
+        int length = stem.length();
+        if (length < 3) {
+            return false;
+        }
+        char last = stem.charAt(length - 1);
+        return last == stem.charAt(length - 2) && last >= 'a' && last <= 'z' && "aeiou".indexOf(last) < 0;
+    }
+
+    /**
+     * Returns the exception lists of each definition type, reading them from the classpath on first use.
+     *
+     * @return the exception lists keyed by the definition type.
+     */
+    private Map<DefinitionType, Map<String, List<String>>> exceptions() {
+        Map<DefinitionType, Map<String, List<String>>> loaded = exceptions;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = exceptions;
+                if (loaded == null) {
+                    loaded = new EnumMap<>(DefinitionType.class);
+                    for (DefinitionType type : TYPES) {
+                        loaded.put(type, loadExceptions(exceptionFileName(type)));
+                    }
+                    exceptions = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the name of the princeton exception list file of the supplied definition type.
+     *
+     * @param type the definition type.
+     * @return the file name.
+     */
+    static String exceptionFileName(DefinitionType type) {
+        switch (type) {
+            case NOUN:
+                return "/noun.exc";
+            case VERB:
+                return "/verb.exc";
+            case ADVERB:
+                return "/adv.exc";
+            default:
+                return "/adj.exc";
+        }
+    }
+
+    /**
+     * Loads an exception list, mapping each inflected form to its base forms. Spaces in the words are denoted by an
+     * underscore character.
+     *
+     * @param fileName the exception list file.
+     * @return the exception list or an empty map if the file is not on the classpath.
+     */
+    private Map<String, List<String>> loadExceptions(String fileName) {
+        URL u = getClass().getResource(fileName);
+        if (u == null) {
+            return Collections.emptyMap();
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(u.openStream(),
+                StandardCharsets.UTF_8))) {
+            Map<String, List<String>> map = new HashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] words = line.trim().toLowerCase(Locale.ROOT).split(" +");
+                if (words.length > 1) {
+                    List<String> baseForms = new ArrayList<>(words.length - 1);
+                    for (int i = 1; i < words.length; i++) {
+                        baseForms.add(words[i].replace('_', ' '));
+                    }
+                    map.put(words[0].replace('_', ' '), Collections.unmodifiableList(baseForms));
+                }
+            }
+            return map;
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * The cache key of a word and the definition types its base forms were resolved for.
+     */
+    private static final class Key {
+        private final String word;
+        private final int types;
+
+        Key(String word, int types) {
+            this.word = word;
+            this.types = types;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return types == key.types && word.equals(key.word);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * word.hashCode() + types;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * The pointers between synsets held in compressed sparse row form: the pointers of synset {@code i} are found between
+ * {@code start[i]} and {@code start[i + 1]}, sorted by their pointer type, so the pointers of one relation are one
+ * contiguous range. Each pointer has its pointer type, the index of its target synset, and the numbers of its source
+ * and target words, which are zero when the pointer is between the whole synsets. The words of a synset are numbered
+ * from one in the order they are listed, starting with the head lemma.
+ * </p>
+ * <p>
+ * The arrays are read through buffers, so the same graph is walked over the arrays of the {@link CompactDictionaryData}
+ * and over the sections of a memory-mapped snapshot. A walk is breadth first over states, a state being a synset and
+ * the number of the word reached within it, or zero when the whole synset is reached. Each thread reuses one queue and
+ * one visited set for all of its walks, so a walk allocates nothing once they have grown to fit.
+ * </p>
+ */
+final class PointerGraph {
+    private static final ThreadLocal<Walk> WALKS = ThreadLocal.withInitial(Walk::new);
+
+    private final IntBuffer start;
+    private final ByteBuffer types;
+    private final IntBuffer targets;
+    private final ByteBuffer sources;
+    private final ByteBuffer targetWords;
+    private final ByteBuffer synsetTypes;
+    private final int servedTypes;
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param start       the start of each synset's pointers, followed by the pointer count.
+     * @param types       the pointer type ordinal of each pointer.
+     * @param targets     the target synset index of each pointer.
+     * @param sources     the source word number of each pointer.
+     * @param targetWords the target word number of each pointer.
+     * @param synsetTypes the definition type ordinal of each synset.
+     * @param servedTypes the bitmask of the definition types of the synsets which can be reached.
+     */
+    PointerGraph(IntBuffer start, ByteBuffer types, IntBuffer targets, ByteBuffer sources, ByteBuffer targetWords,
+                 ByteBuffer synsetTypes, int servedTypes) {
+        this.start = start;
+        this.types = types;
+        this.targets = targets;
+        this.sources = sources;
+        this.targetWords = targetWords;
+        this.synsetTypes = synsetTypes;
+        this.servedTypes = servedTypes;
+    }
+
+    /**
+     * Packs a state of a walk in to an int.
+     *
+     * @param synset the synset index.
+     * @param word   the word number or zero for the whole synset.
+     * @return the state.
+     */
+    static int state(int synset, int word) {
+        return synset << 8 | word;
+    }
+
+    int size() {
+        return start.limit() - 1;
+    }
+
+    int start(int synset) {
+        return start.get(synset);
+    }
+
+    int end(int synset) {
+        return start.get(synset + 1);
+    }
+
+    int type(int pointer) {
+        return types.get(pointer);
+    }
+
+    int target(int pointer) {
+        return targets.get(pointer);
+    }
+
+    int source(int pointer) {
+        return sources.get(pointer) & 0xFF;
+    }
+
+    int targetWord(int pointer) {
+        return targetWords.get(pointer) & 0xFF;
+    }
+
+    int synsetType(int synset) {
+        return synsetTypes.get(synset);
+    }
+
+    /**
+     * Returns true if the supplied synset is of a definition type which is served, and so can be reached.
+     *
+     * @param synset the synset index.
+     * @return true if the synset can be reached.
+     */
+    boolean isServed(int synset) {
+        return (1 << synsetTypes.get(synset) & servedTypes) != 0;
+    }
+
+    /**
+     * Walks the pointers of the supplied type breadth first from the supplied states, reporting each state first
+     * reached within the supplied number of steps, nearest first. The starting states are not reported. A pointer
+     * between words is only followed from its source word or from a whole synset, and a synset of a definition type
+     * which is not served is never reached. The visitor must not start another walk.
+     *
+     * @param starts      the starting states.
+     * @param pointerType the type of the pointers to follow.
+     * @param depth       the maximum number of pointers to follow from a starting state.
+     * @param visitor     receives each reached state.
+     * @see #state(int, int)
+     */
+    void walk(int[] starts, PointerType pointerType, int depth, Visitor visitor) {
+        Walk walk = WALKS.get();
+        walk.reset();
+        for (int state : starts) {
+            walk.add(state);
+        }
+
+        int type = pointerType.ordinal();
+        int head = 0;
+        for (int step = 0; step < depth && head < walk.size; step++) {
+            int tail = walk.size;
+            for (; head < tail; head++) {
+                int synset = walk.queue[head] >>> 8;
+                int word = walk.queue[head] & 0xFF;
+                for (int p = start.get(synset), end = start.get(synset + 1); p < end; p++) {
+                    int pointer = types.get(p);
+                    if (pointer < type) {
+                        continue;
+                    } else if (pointer > type) {
+                        break;
+                    }
+
+                    int source = sources.get(p) & 0xFF;
+                    int target = targets.get(p);
+                    if ((source != 0 && word != 0 && source != word) || !isServed(target)) {
+                        continue;
+                    }
+                    int targetWord = targetWords.get(p) & 0xFF;
+                    if (walk.add(state(target, targetWord))) {
+                        visitor.reached(target, targetWord);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Receives the states reached by a walk.
+     */
+    interface Visitor {
+        /**
+         * Receives a reached state.
+         *
+         * @param synset the synset index.
+         * @param word   the word number or zero for the whole synset.
+         */
+        void reached(int synset, int word);
+    }
+
+    /**
+     * The queue and visited set of the walks of one thread. Every visited state is in the queue, and the visited set
+     * is an open addressing hash set whose slots are only valid when stamped with the current walk, so a walk clears
+     * neither of them.
+     */
+    private static final class Walk {
+        private int[] queue = new int[64];
+        private int size;
+        private int[] slots = new int[128];
+        private int[] stamps = new int[128];
+        private int stamp;
+
+        void reset() {
+            size = 0;
+            if (++stamp == 0) {
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+        }
+
+        boolean add(int state) {
+            if ((size + 1) * 2 > slots.length) {
+                grow();
+            }
+            if (!insert(state)) {
+                return false;
+            }
+            if (size == queue.length) {
+                queue = Arrays.copyOf(queue, size * 2);
+            }
+            queue[size++] = state;
+            return true;
+        }
+
+        private boolean insert(int state) {
+            int mask = slots.length - 1;
+            int hash = state * 0x9E3779B9;
+            for (int slot = (hash ^ hash >>> 16) & mask; ; slot = (slot + 1) & mask) {
+                if (stamps[slot] != stamp) {
+                    stamps[slot] = stamp;
+                    slots[slot] = state;
+                    return true;
+                } else if (slots[slot] == state) {
+                    return false;
+                }
+            }
+        }
+
+        private void grow() {
+            slots = new int[slots.length * 2];
+            stamps = new int[stamps.length * 2];
+            stamp = 1;
+            for (int i = 0; i < size; i++) {
+                insert(queue[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+/**
+ * An enumeration representing the type of a WordNet pointer, meaning a relation from one synset, or one word of a
+ * synset, to another. Each type is identified by the pointer symbol used within the WordNet data files.
+ */
+public enum PointerType {
+    /**
+     * Represents a word that means the opposite of the word, such as "bad" for "good".
+     */
+    ANTONYM("!"),
+    /**
+     * Represents a more general concept, such as "canine" for "dog".
+     */
+    HYPERNYM("@"),
+    /**
+     * Represents the class a specific instance belongs to, such as "city" for "paris".
+     */
+    INSTANCE_HYPERNYM("@i"),
+    /**
+     * Represents a more specific concept, such as "puppy" for "dog".
+     */
+    HYPONYM("~"),
+    /**
+     * Represents a specific instance of a class, such as "paris" for "city".
+     */
+    INSTANCE_HYPONYM("~i"),
+    /**
+     * Represents a group the concept is a member of, such as "pack" for "wolf".
+     */
+    MEMBER_HOLONYM("#m"),
+    /**
+     * Represents something the concept is a substance of, such as "bread" for "flour".
+     */
+    SUBSTANCE_HOLONYM("#s"),
+    /**
+     * Represents a whole the concept is a part of, such as "car" for "wheel".
+     */
+    PART_HOLONYM("#p"),
+    /**
+     * Represents a member of the group, such as "wolf" for "pack".
+     */
+    MEMBER_MERONYM("%m"),
+    /**
+     * Represents a substance of the concept, such as "flour" for "bread".
+     */
+    SUBSTANCE_MERONYM("%s"),
+    /**
+     * Represents a part of the concept, such as "wheel" for "car".
+     */
+    PART_MERONYM("%p"),
+    /**
+     * Represents a noun for which an adjective expresses a value, or an adjective expressing a value of a noun, such
+     * as "weight" for "heavy".
+     */
+    ATTRIBUTE("="),
+    /**
+     * Represents a word of another definition type derived from the same root, such as "runner" for "run".
+     */
+    DERIVATION("+"),
+    /**
+     * Represents the topic the concept belongs to, such as "computer science" for "cache".
+     */
+    DOMAIN_TOPIC(";c"),
+    /**
+     * Represents a concept belonging to the topic.
+     */
+    MEMBER_TOPIC("-c"),
+    /**
+     * Represents the region the concept belongs to.
+     */
+    DOMAIN_REGION(";r"),
+    /**
+     * Represents a concept belonging to the region.
+     */
+    MEMBER_REGION("-r"),
+    /**
+     * Represents the usage the concept belongs to, such as "slang".
+     */
+    DOMAIN_USAGE(";u"),
+    /**
+     * Represents a concept belonging to the usage.
+     */
+    MEMBER_USAGE("-u"),
+    /**
+     * Represents a verb that is implied by the verb, such as "sleep" for "snore".
+     */
+    ENTAILMENT("*"),
+    /**
+     * Represents a verb that is caused by the verb, such as "know" for "teach".
+     */
+    CAUSE(">"),
+    /**
+     * Represents a word with a related meaning.
+     */
+    ALSO_SEE("^"),
+    /**
+     * Represents a verb with a similar meaning.
+     */
+    VERB_GROUP("$"),
+    /**
+     * Represents an adjective with a similar meaning.
+     */
+    SIMILAR_TO("&"),
+    /**
+     * Represents the verb an adjective is the participle of.
+     */
+    PARTICIPLE("<"),
+    /**
+     * Represents the noun an adjective pertains to, or the adjective an adverb is derived from.
+     */
+    PERTAINYM("\\");
+
+    private final String symbol;
+
+    /**
+     * Creates an instance of this enumeration.
+     *
+     * @param symbol sets the symbol.
+     */
+    PointerType(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Returns the pointer symbol associated with this PointerType.
+     *
+     * @return the symbol.
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Returns a PointerType enumeration representing the supplied pointer symbol.
+     *
+     * @param symbol the symbol.
+     * @return the PointerType or null if no enumeration exists for the supplied symbol.
+     */
+    public static PointerType toEnum(String symbol) {
+        PointerType[] values = PointerType.class.getEnumConstants();
+        for (PointerType type : values) {
+            if (type.symbol.equals(symbol)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
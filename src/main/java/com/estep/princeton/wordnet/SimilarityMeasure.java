@@ -0,0 +1,40 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+/**
+ * An enumeration representing a measure of how close in meaning two words are, computed from the hypernym taxonomy
+ * of WordNet: the tree of ever more general concepts formed by the hypernym pointers between synsets. Two synsets
+ * are compared through their common ancestors in the taxonomy, and only synsets of the same definition type are
+ * compared. Every root of the taxonomy is treated as a child of one virtual root, so that any two synsets of the same
+ * definition type have a common ancestor.
+ */
+public enum SimilarityMeasure {
+    /**
+     * Represents the inverse of the length of the shortest hypernym path between the synsets, counting the synsets on
+     * the path: 1 for the same synset, 0.5 for a synset and its hypernym, and approaching 0 for distant synsets.
+     */
+    PATH,
+    /**
+     * Represents the Wu-Palmer similarity, which weighs the depth of the deepest common ancestor of the synsets
+     * against the lengths of their paths to it, so synsets sharing a specific ancestor score higher than synsets only
+     * sharing a general one. Ranges from 0, exclusive, to 1.
+     */
+    WU_PALMER,
+    /**
+     * Represents the Leacock-Chodorow similarity, the negative logarithm of the length of the shortest hypernym path
+     * between the synsets scaled by twice the depth of the taxonomy of their definition type. Higher is closer and
+     * the greatest value depends on the depth of the taxonomy.
+     */
+    LEACOCK_CHODOROW
+}
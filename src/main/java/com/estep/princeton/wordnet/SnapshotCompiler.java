@@ -0,0 +1,58 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Build time entry point which parses the WordNet text files found on the classpath and compiles them in to a
+ * {@link DictionarySnapshot}, along with the {@link LemmaAutomaton} of their lemmas, which is written next to the
+ * snapshot so that a dictionary parsed from the text files maps the automaton rather than building it. Invoked by the
+ * compileSnapshot Gradle task.
+ */
+final class SnapshotCompiler {
+    private SnapshotCompiler() {
+    }
+
+    /**
+     * Compiles the snapshot.
+     *
+     * @param args the path of the snapshot file to create.
+     * @throws IOException thrown if the snapshot or automaton file cannot be created.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("usage: SnapshotCompiler <snapshot file>");
+        }
+
+        Path path = Paths.get(args[0]);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        CompactDictionaryData data = new DictionaryLoader(ForkJoinPool.commonPool()).load();
+        DictionarySnapshot.write(data, path);
+
+        LemmaStore lemmas = data.getLemmas();
+        List<String> sorted = new ArrayList<>(lemmas.size());
+        for (int id = 0; id < lemmas.size(); id++) {
+            sorted.add(lemmas.lemma(id));
+        }
+        LemmaAutomaton.build(sorted).write(path.resolveSibling(LemmaAutomaton.RESOURCE_NAME.substring(1)));
+    }
+}
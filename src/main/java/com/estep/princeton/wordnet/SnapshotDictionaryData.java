@@ -0,0 +1,745 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Dictionary data served directly from a memory-mapped {@link DictionarySnapshot}. Nothing is decoded up front;
+ * the words are found through the mapped {@link LemmaHash}, and their definitions are {@link DefinitionView}
+ * instances which decode their strings from the mapped bytes as they are read. The snapshot always contains every
+ * definition type, so when only some of the types are configured the definitions of the other types are skipped as
+ * the words are looked up.
+ */
+class SnapshotDictionaryData implements DictionaryData {
+    private static final DefinitionType[] TYPES = DefinitionType.values();
+
+    private final IntBuffer stringOffsets;
+    private final ByteBuffer stringBytes;
+    private final IntBuffer words;
+    private final IntBuffer wordDefinitionStart;
+    private final LemmaHash wordHash;
+    private final ByteBuffer wordTypes;
+    private final ByteBuffer definitionTypes;
+    private final IntBuffer definitions;
+    private final IntBuffer synonymStart;
+    private final IntBuffer synonyms;
+    private final IntBuffer usageStart;
+    private final IntBuffer usages;
+    private final PointerGraph pointers;
+    private final WordSets additionalSynonyms;
+    private final WordSets additionalRelated;
+    private final Set<String> allWords;
+    private final Set<DefinitionType> types;
+    private final boolean filtered;
+    private final int servedTypes;
+    private final boolean supplemental;
+    private volatile LemmaAutomaton fuzzyIndex;
+    private volatile Taxonomy taxonomy;
+    private volatile GlossIndex glossIndex;
+
+    /**
+     * Creates an instance of this class over the supplied snapshot bytes.
+     *
+     * @param buffer       the snapshot bytes.
+     * @param types        the definition types to serve.
+     * @param supplemental supply false to ignore the additional synonym and related word datasets.
+     */
+    SnapshotDictionaryData(ByteBuffer buffer, Set<DefinitionType> types, boolean supplemental) {
+        this.types = types;
+        this.filtered = types.size() < TYPES.length;
+        this.servedTypes = DefinitionType.mask(types.toArray(new DefinitionType[0]));
+        this.supplemental = supplemental;
+
+        if (buffer.getInt(0) != DictionarySnapshot.MAGIC) {
+            throw new IllegalStateException("the supplied file is not a dictionary snapshot");
+        }
+        int version = buffer.getInt(4);
+        if (version != DictionarySnapshot.VERSION) {
+            throw new IllegalStateException("dictionary snapshot version " + version + " is not supported");
+        }
+
+        int stringCount = buffer.getInt(8);
+        int stringByteLength = buffer.getInt(12);
+        int wordCount = buffer.getInt(16);
+        int definitionCount = buffer.getInt(20);
+        int synonymCount = buffer.getInt(24);
+        int usageCount = buffer.getInt(28);
+        int synonymKeyCount = buffer.getInt(32);
+        int synonymValueCount = buffer.getInt(36);
+        int relatedKeyCount = buffer.getInt(40);
+        int relatedValueCount = buffer.getInt(44);
+        int pointerCount = buffer.getInt(48);
+
+        Sections sections = new Sections(buffer, 52);
+        stringOffsets = sections.ints(stringCount + 1);
+        stringBytes = sections.bytes(stringByteLength);
+        words = sections.ints(wordCount);
+        wordDefinitionStart = sections.ints(wordCount + 1);
+        wordHash = new LemmaHash(sections.ints(LemmaHash.bucketCount(wordCount)), sections.ints(wordCount),
+                sections.bytes(wordCount));
+        wordTypes = sections.bytes(wordCount);
+        definitionTypes = sections.bytes(definitionCount);
+        definitions = sections.ints(definitionCount);
+        synonymStart = sections.ints(definitionCount + 1);
+        synonyms = sections.ints(synonymCount);
+        usageStart = sections.ints(definitionCount + 1);
+        usages = sections.ints(usageCount);
+        pointers = new PointerGraph(sections.ints(definitionCount + 1), sections.bytes(pointerCount),
+                sections.ints(pointerCount), sections.bytes(pointerCount), sections.bytes(pointerCount),
+                definitionTypes, servedTypes);
+        additionalSynonyms = new WordSets(sections, synonymKeyCount, synonymValueCount);
+        additionalRelated = new WordSets(sections, relatedKeyCount, relatedValueCount);
+        allWords = new WordSet();
+    }
+
+    @Override
+    public Set<String> getAllWords() {
+        return allWords;
+    }
+
+    @Override
+    public Word lookup(String word) {
+        int index = index(word);
+        if (index < 0) {
+            return null;
+        }
+
+        List<Definition> found = new ArrayList<>(wordDefinitionStart.get(index + 1) - wordDefinitionStart.get(index));
+        for (int d = wordDefinitionStart.get(index); d < wordDefinitionStart.get(index + 1); d++) {
+            if (filtered && !types.contains(TYPES[definitionTypes.get(d)])) {
+                continue;
+            }
+            found.add(new MappedDefinition(word, d));
+        }
+        if (found.isEmpty()) {
+            return null;
+        }
+        Word entry = new Word(word);
+        entry.setDefinitions(Collections.unmodifiableList(found));
+        return entry;
+    }
+
+    @Override
+    public int getDefinitionTypes(String word) {
+        int index = index(word);
+        if (index < 0) {
+            return 0;
+        }
+
+        return typeMask(index);
+    }
+
+    /**
+     * Returns the served definition types of the word at the supplied index as a bitmask.
+     *
+     * @param index the index of the word.
+     * @return the bitmask.
+     */
+    private int typeMask(int index) {
+        return wordTypes.get(index) & servedTypes;
+    }
+
+    @Override
+    public List<String> autocomplete(String prefix, int limit, int types) {
+        byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[] end = Completions.end(key);
+        int last = end == null ? words.limit() : lowerBound(words, end);
+
+        Completions completions = new Completions(limit);
+        for (int index = lowerBound(words, key); index < last; index++) {
+            int senses = senses(index, types);
+            if (senses > 0) {
+                completions.offer(index, senses);
+            }
+        }
+        return words(completions);
+    }
+
+    @Override
+    public List<String> suggest(String word, int maxEdits, int limit, int types) {
+        Completions completions = new Completions(limit);
+        fuzzyIndex().match(word.getBytes(StandardCharsets.UTF_8), maxEdits, (index, distance) -> {
+            int senses = senses(index, types);
+            if (senses > 0) {
+                completions.offer(index, Completions.score(maxEdits - distance, senses));
+            }
+        });
+        return words(completions);
+    }
+
+    /**
+     * Returns the automaton of the words which the spelling suggestions walk, building it on the first suggestion.
+     * Since the automaton sorts the words the same way as the snapshot, its ids are the indexes of the words.
+     *
+     * @return the automaton.
+     */
+    private LemmaAutomaton fuzzyIndex() {
+        LemmaAutomaton index = fuzzyIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = fuzzyIndex;
+                if (index == null) {
+                    List<String> sorted = new ArrayList<>(words.limit());
+                    for (int i = 0; i < words.limit(); i++) {
+                        sorted.add(string(words.get(i)));
+                    }
+                    index = LemmaAutomaton.build(sorted);
+                    fuzzyIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of definitions of the supplied definition types of the word at the supplied index.
+     *
+     * @param index the index of the word.
+     * @param types the bitmask of the definition types.
+     * @return the number of senses.
+     */
+    private int senses(int index, int types) {
+        types &= servedTypes;
+        int senses = 0;
+        for (int d = wordDefinitionStart.get(index); d < wordDefinitionStart.get(index + 1); d++) {
+            if ((TYPES[definitionTypes.get(d)].mask() & types) != 0) {
+                senses++;
+            }
+        }
+        return senses;
+    }
+
+    private List<String> words(Completions completions) {
+        List<String> completed = new ArrayList<>();
+        for (int index : completions.indexes()) {
+            completed.add(string(words.get(index)));
+        }
+        return completed;
+    }
+
+    @Override
+    public Set<String> getRelated(String word, PointerType pointerType, int depth, int types) {
+        Set<String> related = new LinkedHashSet<>();
+        int index = index(word);
+        if (index < 0) {
+            return related;
+        }
+
+        // the word is the first word of each of its definitions
+        int[] starts = IntStream.range(wordDefinitionStart.get(index), wordDefinitionStart.get(index + 1))
+                .filter(d -> (TYPES[definitionTypes.get(d)].mask() & servedTypes) != 0)
+                .map(d -> PointerGraph.state(d, 1))
+                .toArray();
+        pointers.walk(starts, pointerType, depth, (definition, number) -> {
+            if ((TYPES[definitionTypes.get(definition)].mask() & types) == 0) {
+                return;
+            }
+            if (number <= 1) {
+                addRelated(related, words.get(owner(definition)), word);
+            }
+            for (int s = synonymStart.get(definition); s < synonymStart.get(definition + 1); s++) {
+                if (number == 0 || number == s - synonymStart.get(definition) + 2) {
+                    addRelated(related, synonyms.get(s), word);
+                }
+            }
+        });
+        return related;
+    }
+
+    @Override
+    public Map<String, Integer> expand(String word, int maxHops, int maxResults, int types) {
+        int start = index(word);
+        if (start < 0 || typeMask(start) == 0) {
+            return new LinkedHashMap<>();
+        }
+
+        // the words are the first strings of the string table, so the string id of a word is its index
+        boolean filtered = types != DefinitionType.mask(TYPES);
+        int served = types & servedTypes;
+        return WordExpansion.expand(start, stringOffsets.limit() - 1, maxHops, maxResults, (id, sink) -> {
+            if (id < words.limit()) {
+                for (int d = wordDefinitionStart.get(id); d < wordDefinitionStart.get(id + 1); d++) {
+                    if ((TYPES[definitionTypes.get(d)].mask() & served) == 0) {
+                        continue;
+                    }
+                    for (int s = synonymStart.get(d); s < synonymStart.get(d + 1); s++) {
+                        if (synonyms.get(s) != id && !sink.test(synonyms.get(s))) {
+                            return;
+                        }
+                    }
+                }
+            }
+            if (supplemental) {
+                byte[] key = utf8(id);
+                if (additionalSynonyms.expand(key, filtered, types, sink)) {
+                    additionalRelated.expand(key, filtered, types, sink);
+                }
+            }
+        }, this::string);
+    }
+
+    /**
+     * Returns the string id of the lower case word of the supplied string, when the string is not itself a served
+     * word.
+     *
+     * @param id the string id.
+     * @return the string id of the word or the supplied id.
+     */
+    private int wordId(int id) {
+        if (id < words.limit() && typeMask(id) != 0) {
+            return id;
+        }
+        String value = string(id);
+        String lowerCase = value.toLowerCase(Locale.ROOT);
+        if (lowerCase.equals(value)) {
+            return id;
+        }
+        int index = index(lowerCase);
+        return index >= 0 && typeMask(index) != 0 ? index : id;
+    }
+
+    @Override
+    public List<Definition> searchDefinitions(String query, int limit, int types) {
+        int served = types & servedTypes;
+        List<Definition> found = new ArrayList<>();
+        IntPredicate typed = d -> (TYPES[definitionTypes.get(d)].mask() & served) != 0;
+        for (int d : getGlossIndex().search(query, limit, typed)) {
+            found.add(new MappedDefinition(string(words.get(owner(d))), d));
+        }
+        return found;
+    }
+
+    @Override
+    public GlossIndex getGlossIndex() {
+        GlossIndex index = glossIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = glossIndex;
+                if (index == null) {
+                    index = new GlossIndex(definitionTypes.limit(), this::glossText);
+                    glossIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the definition and usages at the supplied definition index as one text.
+     *
+     * @param definition the definition index.
+     * @return the text.
+     */
+    private String glossText(int definition) {
+        StringBuilder text = new StringBuilder(string(definitions.get(definition)));
+        for (int u = usageStart.get(definition); u < usageStart.get(definition + 1); u++) {
+            text.append(' ').append(string(usages.get(u)));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int[] getSynsets(String word, int types) {
+        int index = index(word);
+        if (index < 0) {
+            return new int[0];
+        }
+        int served = types & servedTypes;
+        return IntStream.range(wordDefinitionStart.get(index), wordDefinitionStart.get(index + 1))
+                .filter(d -> (TYPES[definitionTypes.get(d)].mask() & served) != 0)
+                .toArray();
+    }
+
+    @Override
+    public Taxonomy getTaxonomy() {
+        Taxonomy built = taxonomy;
+        if (built == null) {
+            synchronized (this) {
+                built = taxonomy;
+                if (built == null) {
+                    built = new Taxonomy(pointers);
+                    taxonomy = built;
+                }
+            }
+        }
+        return built;
+    }
+
+    private void addRelated(Set<String> related, int id, String word) {
+        String value = string(id);
+        if (!value.equals(word)) {
+            related.add(value);
+        }
+    }
+
+    /**
+     * Returns the index of the word the supplied definition belongs to.
+     *
+     * @param definition the definition index.
+     * @return the word index.
+     */
+    private int owner(int definition) {
+        int low = 0;
+        int high = words.limit() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (wordDefinitionStart.get(mid) <= definition) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public Set<String> getAdditionalSynonyms(String word) {
+        return supplemental ? additionalSynonyms.get(word) : null;
+    }
+
+    @Override
+    public Set<String> getAdditionalRelated(String word) {
+        return supplemental ? additionalRelated.get(word) : null;
+    }
+
+    /**
+     * Returns true if the word at the supplied index has at least one definition of the served types.
+     *
+     * @param index the index of the word.
+     * @return true if the word is served.
+     */
+    private boolean isServed(int index) {
+        return !filtered || typeMask(index) != 0;
+    }
+
+    /**
+     * Decodes the string with the supplied id from the string table.
+     *
+     * @param id the string id.
+     * @return the string.
+     */
+    private String string(int id) {
+        return new String(utf8(id), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies the UTF-8 bytes of the string with the supplied id from the string table.
+     *
+     * @param id the string id.
+     * @return the bytes.
+     */
+    private byte[] utf8(int id) {
+        int start = stringOffsets.get(id);
+        byte[] bytes = new byte[stringOffsets.get(id + 1) - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = stringBytes.get(start + i);
+        }
+        return bytes;
+    }
+
+    /**
+     * Finds the supplied word through the word hash. The hash sends a word which is not in the snapshot to an
+     * arbitrary word, so a candidate which passes the fingerprint is compared with the word itself.
+     *
+     * @param word the word to find.
+     * @return the index of the word or -1 if not found.
+     */
+    private int index(String word) {
+        int slot = wordHash.slot(word);
+        if (slot < 0) {
+            return -1;
+        }
+        int index = wordHash.value(slot);
+        return compare(words.get(index), word.getBytes(StandardCharsets.UTF_8)) == 0 ? index : -1;
+    }
+
+    /**
+     * Binary searches the supplied sorted string ids for the supplied UTF-8 key.
+     *
+     * @param sorted the string ids sorted by their UTF-8 bytes.
+     * @param key    the key to find.
+     * @return the index of the key within the sorted ids or -1 if not found.
+     */
+    private int find(IntBuffer sorted, byte[] key) {
+        int low = 0;
+        int high = sorted.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int rc = compare(sorted.get(mid), key);
+            if (rc < 0) {
+                low = mid + 1;
+            } else if (rc > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Binary searches the supplied sorted string ids for the first string which does not sort before the supplied
+     * UTF-8 key.
+     *
+     * @param sorted the string ids sorted by their UTF-8 bytes.
+     * @param key    the key.
+     * @return the index of the first string which is not less than the key.
+     */
+    private int lowerBound(IntBuffer sorted, byte[] key) {
+        int low = 0;
+        int high = sorted.limit();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(sorted.get(mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares the UTF-8 bytes of the string with the supplied id to the supplied key.
+     *
+     * @param id  the string id.
+     * @param key the key.
+     * @return a negative number, zero, or a positive number as the string is less than, equal to, or greater than
+     * the key.
+     */
+    private int compare(int id, byte[] key) {
+        int start = stringOffsets.get(id);
+        int length = stringOffsets.get(id + 1) - start;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int rc = Byte.toUnsignedInt(stringBytes.get(start + i)) - Byte.toUnsignedInt(key[i]);
+            if (rc != 0) {
+                return rc;
+            }
+        }
+        return length - key.length;
+    }
+
+    /**
+     * Hands out the consecutive sections of the snapshot.
+     */
+    private static class Sections {
+        private final ByteBuffer buffer;
+        private int position;
+
+        Sections(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        IntBuffer ints(int count) {
+            ByteBuffer section = DictionarySnapshot.section(buffer, position, count * Integer.BYTES);
+            position += count * Integer.BYTES;
+            return section.asIntBuffer();
+        }
+
+        ByteBuffer bytes(int count) {
+            ByteBuffer section = DictionarySnapshot.section(buffer, position, count);
+            position += DictionarySnapshot.padded(count);
+            return section;
+        }
+    }
+
+    /**
+     * A mapped section of words keyed by word.
+     */
+    private class WordSets {
+        private final IntBuffer keys;
+        private final IntBuffer start;
+        private final IntBuffer values;
+
+        WordSets(Sections sections, int keyCount, int valueCount) {
+            keys = sections.ints(keyCount);
+            start = sections.ints(keyCount + 1);
+            values = sections.ints(valueCount);
+        }
+
+        Set<String> get(String word) {
+            int index = find(keys, word.getBytes(StandardCharsets.UTF_8));
+            if (index < 0) {
+                return null;
+            }
+
+            Set<String> set = new HashSet<>();
+            for (int i = start.get(index); i < start.get(index + 1); i++) {
+                set.add(string(values.get(i)));
+            }
+            return set;
+        }
+
+        /**
+         * Passes the words of the supplied key to the supplied sink, each replaced by its lower case word when it is
+         * not itself a word.
+         *
+         * @param key      the UTF-8 bytes of the key.
+         * @param filtered supply true to only pass the words which have one of the supplied definition types.
+         * @param types    the bitmask of the definition types.
+         * @param sink     receives the string id of each word and returns false to stop.
+         * @return false if the sink stopped.
+         */
+        boolean expand(byte[] key, boolean filtered, int types, IntPredicate sink) {
+            int index = find(keys, key);
+            if (index < 0) {
+                return true;
+            }
+            for (int i = start.get(index); i < start.get(index + 1); i++) {
+                int target = wordId(values.get(i));
+                if ((!filtered || (target < words.limit() && (typeMask(target) & types) != 0))
+                        && !sink.test(target)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A read only {@link DefinitionView} over a definition of the snapshot. The strings are decoded from the mapped
+     * bytes as they are read.
+     */
+    private class MappedDefinition extends DefinitionView {
+        private final int definition;
+
+        MappedDefinition(String word, int definition) {
+            super(word, TYPES[definitionTypes.get(definition)]);
+            this.definition = definition;
+        }
+
+        @Override
+        public String getDefinition() {
+            return string(definitions.get(definition));
+        }
+
+        @Override
+        public List<String> getSynonyms() {
+            return new StringList(synonyms, synonymStart.get(definition), synonymStart.get(definition + 1));
+        }
+
+        @Override
+        public List<String> getUsages() {
+            return new StringList(usages, usageStart.get(definition), usageStart.get(definition + 1));
+        }
+    }
+
+    /**
+     * A read only list view of a run of string ids.
+     */
+    private class StringList extends AbstractList<String> {
+        private final IntBuffer ids;
+        private final int start;
+        private final int end;
+
+        StringList(IntBuffer ids, int start, int end) {
+            this.ids = ids;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public String get(int index) {
+            Objects.checkIndex(index, size());
+            return string(ids.get(start + index));
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+
+    /**
+     * A read only set view of the words within the snapshot.
+     */
+    private class WordSet extends AbstractSet<String> {
+        private volatile int size = -1;
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int index = next(0);
+
+                @Override
+                public boolean hasNext() {
+                    return index < words.limit();
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    String word = string(words.get(index));
+                    index = next(index + 1);
+                    return word;
+                }
+
+                private int next(int from) {
+                    while (from < words.limit() && !isServed(from)) {
+                        from++;
+                    }
+                    return from;
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String)) {
+                return false;
+            }
+            int index = index((String) o);
+            return index >= 0 && isServed(index);
+        }
+
+        @Override
+        public int size() {
+            if (!filtered) {
+                return words.limit();
+            }
+            if (size < 0) {
+                int count = 0;
+                for (int i = 0; i < words.limit(); i++) {
+                    if (isServed(i)) {
+                        count++;
+                    }
+                }
+                size = count;
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.util.List;
+
+/**
+ * <p>
+ * A WordNet synset: a set of lemmas sharing one meaning, parsed from one line of a data file. Each synset is stored
+ * once and is identified by its definition type and the byte offset of its line within the data file of that type.
+ * </p>
+ * <p>
+ * The first lemma is the head of the synset and the remaining lemmas are its synonyms. The gloss, meaning the
+ * definition and usages, is either kept with the synset or read from a {@link GlossSource} each time it is requested.
+ * </p>
+ * <p>
+ * A synset parsed from a data file also keeps its pointers to other synsets. Each pointer is packed in to a long
+ * holding the pointer type, the definition type and offset of the target synset, and the numbers of the source and
+ * target words when the pointer is between two words rather than two synsets.
+ * </p>
+ */
+final class Synset {
+    private static final long[] NO_POINTERS = new long[0];
+    private static final PointerType[] POINTER_TYPES = PointerType.values();
+    private static final DefinitionType[] TYPES = DefinitionType.values();
+
+    private final DefinitionType type;
+    private final int offset;
+    private final List<String> lemmas;
+    private final DataFileParser.Gloss gloss;
+    private final GlossSource glosses;
+    private final long[] pointers;
+
+    /**
+     * Creates an instance of this class.
+     *
+     * @param type    the definition type.
+     * @param offset  the byte offset of the synset's line within the data file.
+     * @param lemmas  the unmodifiable lemmas, starting with the head lemma.
+     * @param gloss   the gloss or null to read the gloss on demand.
+     * @param glosses provides the gloss on demand when no gloss is supplied.
+     */
+    Synset(DefinitionType type, int offset, List<String> lemmas, DataFileParser.Gloss gloss, GlossSource glosses) {
+        this(type, offset, lemmas, gloss, glosses, NO_POINTERS);
+    }
+
+    /**
+     * Creates an instance of this class with the supplied pointers.
+     *
+     * @param type     the definition type.
+     * @param offset   the byte offset of the synset's line within the data file.
+     * @param lemmas   the unmodifiable lemmas, starting with the head lemma.
+     * @param gloss    the gloss or null to read the gloss on demand.
+     * @param glosses  provides the gloss on demand when no gloss is supplied.
+     * @param pointers the packed pointers to other synsets.
+     * @see #pointer(PointerType, DefinitionType, int, int, int)
+     */
+    Synset(DefinitionType type, int offset, List<String> lemmas, DataFileParser.Gloss gloss, GlossSource glosses,
+           long[] pointers) {
+        this.type = type;
+        this.offset = offset;
+        this.lemmas = lemmas;
+        this.gloss = gloss;
+        this.glosses = glosses;
+        this.pointers = pointers;
+    }
+
+    DefinitionType getType() {
+        return type;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns every lemma of this synset, starting with the head lemma.
+     *
+     * @return the unmodifiable lemmas.
+     */
+    List<String> getLemmas() {
+        return lemmas;
+    }
+
+    /**
+     * Returns the head lemma, which is the word this synset defines.
+     *
+     * @return the head lemma.
+     */
+    String getHead() {
+        return lemmas.get(0);
+    }
+
+    /**
+     * Returns the lemmas following the head lemma.
+     *
+     * @return the unmodifiable synonyms.
+     */
+    List<String> getSynonyms() {
+        return lemmas.subList(1, lemmas.size());
+    }
+
+    /**
+     * Returns the gloss kept with this synset.
+     *
+     * @return the gloss or null if the gloss is read on demand.
+     */
+    DataFileParser.Gloss getResidentGloss() {
+        return gloss;
+    }
+
+    /**
+     * Returns the source of the gloss when it is read on demand.
+     *
+     * @return the source or null if the gloss is kept with this synset.
+     */
+    GlossSource getGlossSource() {
+        return glosses;
+    }
+
+    /**
+     * Returns the definition and usages of this synset.
+     *
+     * @return the gloss.
+     */
+    DataFileParser.Gloss getGloss() {
+        return gloss != null ? gloss : glosses.read(type, offset);
+    }
+
+    /**
+     * Returns the packed pointers of this synset to other synsets.
+     *
+     * @return the pointers, which must not be modified.
+     */
+    long[] getPointers() {
+        return pointers;
+    }
+
+    /**
+     * Packs a pointer in to a long.
+     *
+     * @param pointerType  the pointer type.
+     * @param targetType   the definition type of the target synset.
+     * @param targetOffset the offset of the target synset.
+     * @param source       the number of the source word within this synset, starting at one, or zero if the pointer
+     *                     is from the whole synset.
+     * @param target       the number of the target word within the target synset, starting at one, or zero if the
+     *                     pointer is to the whole synset.
+     * @return the packed pointer.
+     */
+    static long pointer(PointerType pointerType, DefinitionType targetType, int targetOffset, int source, int target) {
+        return Integer.toUnsignedLong(targetOffset) | (long) pointerType.ordinal() << 32
+                | (long) targetType.ordinal() << 40 | (long) source << 48 | (long) target << 56;
+    }
+
+    static PointerType pointerType(long pointer) {
+        return POINTER_TYPES[(int) (pointer >>> 32) & 0xFF];
+    }
+
+    static DefinitionType targetType(long pointer) {
+        return TYPES[(int) (pointer >>> 40) & 0xFF];
+    }
+
+    static int targetOffset(long pointer) {
+        return (int) pointer;
+    }
+
+    static int sourceWord(long pointer) {
+        return (int) (pointer >>> 48) & 0xFF;
+    }
+
+    static int targetWord(long pointer) {
+        return (int) (pointer >>> 56) & 0xFF;
+    }
+}
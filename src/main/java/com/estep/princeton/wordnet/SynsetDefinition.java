@@ -0,0 +1,75 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A read only {@link DefinitionView} over a {@link Synset}. The definition, synonyms, and usages are all read from
+ * the shared synset, so a view holds no data of its own. The word being defined is the head lemma of the synset
+ * unless the view is of another member lemma, in which case the synonyms are the other lemmas of the synset.
+ */
+class SynsetDefinition extends DefinitionView {
+    private final Synset synset;
+
+    /**
+     * Creates an instance of this class defining the head lemma of the synset.
+     *
+     * @param synset the synset being viewed.
+     */
+    SynsetDefinition(Synset synset) {
+        this(synset, synset.getHead());
+    }
+
+    /**
+     * Creates an instance of this class defining the supplied member lemma of the synset.
+     *
+     * @param synset the synset being viewed.
+     * @param word   the member lemma being defined.
+     */
+    SynsetDefinition(Synset synset, String word) {
+        super(word, synset.getType());
+        this.synset = synset;
+    }
+
+    /**
+     * Returns the synset being viewed.
+     *
+     * @return the synset.
+     */
+    Synset getSynset() {
+        return synset;
+    }
+
+    @Override
+    public String getDefinition() {
+        return synset.getGloss().getDefinition();
+    }
+
+    @Override
+    public List<String> getSynonyms() {
+        if (getWord().equals(synset.getHead())) {
+            return synset.getSynonyms();
+        }
+        return synset.getLemmas().stream()
+                .filter(lemma -> !lemma.equals(getWord()))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.unmodifiableList(synset.getGloss().getUsages());
+    }
+}
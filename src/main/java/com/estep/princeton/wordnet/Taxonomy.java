@@ -0,0 +1,240 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * The hypernym taxonomy of the synsets of a {@link PointerGraph}, precomputed once so that the similarity of two
+ * synsets is found without walking the graph. The hypernyms of a synset are the targets of its hypernym and instance
+ * hypernym pointers, and a synset without any is a root. For each synset the taxonomy holds its ancestors, the synset
+ * itself included, sorted by their synset index along with the length of the shortest hypernym path to each, so the
+ * common ancestors of two synsets are found by merging their two lists. It also holds the shortest and the longest
+ * path from each synset to a root.
+ * </p>
+ * <p>
+ * Every root is treated as a child of one virtual root, so that any two synsets have a common ancestor. The lowest
+ * common ancestor is the one furthest from a root along its shortest path, and the measures are computed the same
+ * way as by the WordNet interface of NLTK.
+ * </p>
+ */
+final class Taxonomy {
+    private static final int IN_PROGRESS = -2;
+
+    private final PointerGraph graph;
+    private final int[] ancestorStart;
+    private final int[] ancestors;
+    private final byte[] distances;
+    private final byte[] minDepths;
+    private final byte[] maxDepths;
+    private final int[] typeDepths = new int[DefinitionType.values().length];
+
+    /**
+     * Creates an instance of this class by walking the hypernyms of every served synset of the supplied graph.
+     *
+     * @param graph the pointer graph.
+     */
+    Taxonomy(PointerGraph graph) {
+        this.graph = graph;
+        int size = graph.size();
+        ancestorStart = new int[size + 1];
+        minDepths = new byte[size];
+        maxDepths = new byte[size];
+
+        IntList found = new IntList(size * 4);
+        IntList foundDistances = new IntList(size * 4);
+        int[] stamps = new int[size];
+        long[] queue = new long[64];
+        for (int synset = 0; synset < size; synset++) {
+            ancestorStart[synset] = found.size();
+            if (!graph.isServed(synset)) {
+                continue;
+            }
+
+            // breadth first, so the first root reached is the nearest
+            int count = 1;
+            queue[0] = (long) synset << 8;
+            stamps[synset] = synset + 1;
+            int minDepth = -1;
+            for (int head = 0; head < count; head++) {
+                int ancestor = (int) (queue[head] >>> 8);
+                int distance = (int) queue[head] & 0xFF;
+                boolean root = true;
+                for (int p = graph.start(ancestor), end = graph.end(ancestor); p < end; p++) {
+                    int target = graph.target(p);
+                    if (!isHypernym(graph.type(p)) || !graph.isServed(target)) {
+                        continue;
+                    }
+                    root = false;
+                    if (stamps[target] != synset + 1) {
+                        if (distance == 0xFF) {
+                            throw new IllegalStateException("the hypernyms of synset " + synset + " are too deep");
+                        }
+                        stamps[target] = synset + 1;
+                        if (count == queue.length) {
+                            queue = Arrays.copyOf(queue, count * 2);
+                        }
+                        queue[count++] = (long) target << 8 | distance + 1;
+                    }
+                }
+                if (root && minDepth < 0) {
+                    minDepth = distance;
+                }
+            }
+
+            Arrays.sort(queue, 0, count);
+            for (int i = 0; i < count; i++) {
+                found.add((int) (queue[i] >>> 8));
+                foundDistances.add((int) queue[i] & 0xFF);
+            }
+            minDepths[synset] = (byte) Math.max(minDepth, 0);
+        }
+        ancestorStart[size] = found.size();
+        ancestors = found.toArray();
+        distances = new byte[foundDistances.size()];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = (byte) foundDistances.get(i);
+        }
+
+        int[] depths = new int[size];
+        Arrays.fill(depths, -1);
+        int[] roots = new int[typeDepths.length];
+        for (int synset = 0; synset < size; synset++) {
+            if (graph.isServed(synset)) {
+                int maxDepth = maxDepth(synset, depths);
+                maxDepths[synset] = (byte) maxDepth;
+                int type = graph.synsetType(synset);
+                typeDepths[type] = Math.max(typeDepths[type], maxDepth);
+                if (maxDepth == 0) {
+                    roots[type]++;
+                }
+            }
+        }
+        for (int type = 0; type < typeDepths.length; type++) {
+            // with many roots, the virtual root adds one level to the taxonomy
+            if (roots[type] > 1) {
+                typeDepths[type]++;
+            }
+            typeDepths[type] = Math.max(typeDepths[type], 1);
+        }
+    }
+
+    private static boolean isHypernym(int pointerType) {
+        return pointerType == PointerType.HYPERNYM.ordinal() || pointerType == PointerType.INSTANCE_HYPERNYM.ordinal();
+    }
+
+    /**
+     * Returns the length of the longest hypernym path from the supplied synset to a root, computing it for the
+     * synset's ancestors as needed. A hypernym which leads back to the synset is ignored.
+     *
+     * @param synset the synset index.
+     * @param depths the depths found so far, -1 for those not yet found.
+     * @return the depth.
+     */
+    private int maxDepth(int synset, int[] depths) {
+        if (depths[synset] >= 0) {
+            return depths[synset];
+        } else if (depths[synset] == IN_PROGRESS) {
+            return -1;
+        }
+
+        depths[synset] = IN_PROGRESS;
+        int depth = 0;
+        for (int p = graph.start(synset), end = graph.end(synset); p < end; p++) {
+            int target = graph.target(p);
+            if (isHypernym(graph.type(p)) && graph.isServed(target)) {
+                depth = Math.max(depth, maxDepth(target, depths) + 1);
+            }
+        }
+        depths[synset] = Math.min(depth, 0xFF);
+        return depths[synset];
+    }
+
+    /**
+     * Returns the greatest similarity of any pair of one of the first synsets and one of the second synsets which are
+     * of the same definition type.
+     *
+     * @param first   the indexes of the first synsets.
+     * @param second  the indexes of the second synsets.
+     * @param measure the similarity measure.
+     * @return the similarity or zero if no pair is of the same definition type.
+     */
+    double similarity(int[] first, int[] second, SimilarityMeasure measure) {
+        double best = 0;
+        boolean compared = false;
+        for (int synset : first) {
+            int type = graph.synsetType(synset);
+            for (int other : second) {
+                if (graph.synsetType(other) == type) {
+                    double value = similarity(synset, other, measure);
+                    if (!compared || value > best) {
+                        best = value;
+                        compared = true;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the similarity of the supplied synsets, which must be of the same definition type.
+     *
+     * @param first   the index of the first synset.
+     * @param second  the index of the second synset.
+     * @param measure the similarity measure.
+     * @return the similarity.
+     */
+    double similarity(int first, int second, SimilarityMeasure measure) {
+        // start from the virtual root, one step above the nearest root of each synset
+        int path = (minDepths[first] & 0xFF) + (minDepths[second] & 0xFF) + 2;
+        int lowestMinDepth = -1;
+        int lowestDistance = path;
+        int lowestDepth = 1;
+
+        int i = ancestorStart[first];
+        int j = ancestorStart[second];
+        int firstEnd = ancestorStart[first + 1];
+        int secondEnd = ancestorStart[second + 1];
+        while (i < firstEnd && j < secondEnd) {
+            int ancestor = ancestors[i];
+            int other = ancestors[j];
+            if (ancestor < other) {
+                i++;
+            } else if (ancestor > other) {
+                j++;
+            } else {
+                int distance = (distances[i] & 0xFF) + (distances[j] & 0xFF);
+                path = Math.min(path, distance);
+                int minDepth = minDepths[ancestor] & 0xFF;
+                if (minDepth > lowestMinDepth || (minDepth == lowestMinDepth && distance < lowestDistance)) {
+                    lowestMinDepth = minDepth;
+                    lowestDistance = distance;
+                    lowestDepth = (maxDepths[ancestor] & 0xFF) + 1;
+                }
+                i++;
+                j++;
+            }
+        }
+
+        switch (measure) {
+            case PATH:
+                return 1.0 / (path + 1);
+            case WU_PALMER:
+                return 2.0 * lowestDepth / (lowestDistance + 2.0 * lowestDepth);
+            default:
+                return -Math.log((path + 1) / (2.0 * typeDepths[graph.synsetType(first)]));
+        }
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import opennlp.tools.postag.POSModel;
+import opennlp.tools.postag.POSTaggerME;
+import opennlp.tools.tokenize.SimpleTokenizer;
+import opennlp.tools.tokenize.Tokenizer;
+import opennlp.tools.tokenize.TokenizerME;
+import opennlp.tools.tokenize.TokenizerModel;
+import opennlp.tools.util.Span;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>
+ * Annotates documents with the words of a {@link WordDictionary}. Each document is split in to tokens with OpenNLP,
+ * and each token which resolves to a word in the dictionary, directly or through its base form, becomes an
+ * {@link Annotation} of the span of the token along with the synonyms of the word.
+ * </p>
+ * <pre>
+ * TextAnnotator annotator = TextAnnotator.builder(wordDictionary)
+ *         .definitionTypes(DefinitionType.NOUN, DefinitionType.VERB)
+ *         .build();
+ * try (Stream&lt;Annotation&gt; annotations = annotator.annotate(documents)) {
+ *     annotations.forEach(annotation -&gt; ...);
+ * }
+ * </pre>
+ * <p>
+ * A stream of documents is annotated in batches, in parallel on the configured executor, while the annotations are
+ * returned in the order of the documents. Only a bounded number of batches is read ahead of the consumer of the
+ * annotations, so a large corpus is annotated as fast as it is consumed without being held in memory.
+ * </p>
+ * <p>
+ * When an OpenNLP part-of-speech model is configured, each token is tagged and only resolved as the definition type
+ * of its tag, so "saw" in "I saw the film" is only resolved as a verb, and tokens tagged as anything other than a
+ * noun, verb, adjective, or adverb are not annotated. Instances are thread safe.
+ * </p>
+ */
+public final class TextAnnotator {
+    private final WordDictionary dictionary;
+    private final Supplier<Tokenizer> tokenizers;
+    private final Supplier<POSTaggerME> taggers;
+    private final Set<DefinitionType> definitionTypes;
+    private final DefinitionType[] specificTypes;
+    private final boolean includeSupplemental;
+    private final Executor executor;
+    private final int batchSize;
+    private final int bufferSize;
+
+    private TextAnnotator(Builder builder) {
+        dictionary = builder.dictionary;
+        TokenizerModel tokenizerModel = builder.tokenizerModel;
+        tokenizers = tokenizerModel == null ? () -> SimpleTokenizer.INSTANCE : () -> new TokenizerME(tokenizerModel);
+        POSModel posModel = builder.posModel;
+        taggers = posModel == null ? null : () -> new POSTaggerME(posModel);
+        definitionTypes = EnumSet.copyOf(builder.definitionTypes);
+        specificTypes = definitionTypes.size() == DefinitionType.values().length ? new DefinitionType[0]
+                : definitionTypes.toArray(new DefinitionType[0]);
+        includeSupplemental = builder.includeSupplemental;
+        executor = builder.executor;
+        batchSize = builder.batchSize;
+        bufferSize = builder.bufferSize;
+    }
+
+    /**
+     * Returns a new builder for configuring and creating a {@link TextAnnotator} of the supplied dictionary.
+     *
+     * @param dictionary the dictionary to resolve the tokens with.
+     * @return the builder.
+     */
+    public static Builder builder(WordDictionary dictionary) {
+        if (dictionary == null) {
+            throw new IllegalArgumentException("a word dictionary is required");
+        }
+        return new Builder(dictionary);
+    }
+
+    /**
+     * Returns the annotations of the supplied document, in the order of their tokens.
+     *
+     * @param document the document.
+     * @return the annotations or an empty list if no token resolves to a word.
+     */
+    public List<Annotation> annotate(String document) {
+        return annotate(0, Collections.singletonList(document));
+    }
+
+    /**
+     * Returns a stream of the annotations of the supplied documents, in the order of the documents and then of their
+     * tokens. The documents are read as the annotations are consumed and annotated in parallel. Closing the returned
+     * stream closes the supplied stream.
+     *
+     * @param documents the documents.
+     * @return the annotations.
+     */
+    public Stream<Annotation> annotate(Stream<String> documents) {
+        Pipeline pipeline = new Pipeline(documents.iterator());
+        return StreamSupport.stream(pipeline, false)
+                .onClose(pipeline::cancel)
+                .onClose(documents::close)
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Returns a stream of the annotations of the documents read from the supplied reader, where each line is one
+     * document. The lines are read as the annotations are consumed and annotated in parallel. The reader is not
+     * closed.
+     *
+     * @param reader the reader of the documents.
+     * @return the annotations.
+     * @see #annotate(Stream)
+     */
+    public Stream<Annotation> annotate(Reader reader) {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        return annotate(lines.lines());
+    }
+
+    /**
+     * Returns the annotations of the supplied batch of documents. The OpenNLP tokenizers and taggers are not thread
+     * safe, so each batch creates its own from the shared models, which leaves nothing behind on the threads of the
+     * executor once the batch is annotated.
+     *
+     * @param position the position of the first document of the batch in the annotated documents.
+     * @param batch    the documents.
+     * @return the annotations.
+     */
+    private List<Annotation> annotate(long position, List<String> batch) {
+        Tokenizer tokenizer = tokenizers.get();
+        POSTaggerME tagger = taggers == null ? null : taggers.get();
+        List<Annotation> annotations = new ArrayList<>();
+        for (String document : batch) {
+            annotations.addAll(annotate(position++, document, tokenizer, tagger));
+        }
+        return annotations;
+    }
+
+    /**
+     * Returns the annotations of the supplied document.
+     *
+     * @param position  the position of the document in the annotated documents.
+     * @param document  the document.
+     * @param tokenizer the tokenizer of the batch.
+     * @param tagger    the part-of-speech tagger of the batch or null if the tokens are not tagged.
+     * @return the annotations.
+     */
+    private List<Annotation> annotate(long position, String document, Tokenizer tokenizer, POSTaggerME tagger) {
+        List<Annotation> annotations = new ArrayList<>();
+        if (document == null || document.isEmpty()) {
+            return annotations;
+        }
+
+        Span[] spans = tokenizer.tokenizePos(document);
+        String[] tokens = Span.spansToStrings(spans, document);
+        String[] tags = tagger == null ? null : tagger.tag(tokens);
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i];
+            if (!hasLetter(token)) {
+                continue;
+            }
+
+            DefinitionType partOfSpeech = null;
+            DefinitionType[] types = specificTypes;
+            if (tags != null) {
+                partOfSpeech = partOfSpeech(tags[i]);
+                if (partOfSpeech == null || !definitionTypes.contains(partOfSpeech)) {
+                    continue;
+                }
+                types = new DefinitionType[]{partOfSpeech};
+            }
+
+            List<String> baseForms = dictionary.baseForms(token, types);
+            if (!baseForms.isEmpty()) {
+                String word = baseForms.get(0);
+                Map<DefinitionType, Set<String>> synonyms = dictionary.getSynonyms(word, includeSupplemental, types);
+                annotations.add(new Annotation(position, spans[i].getStart(), spans[i].getEnd(), token, word,
+                        partOfSpeech, synonyms));
+            }
+        }
+        return annotations;
+    }
+
+    private static boolean hasLetter(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isLetter(token.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the definition type of the supplied Penn Treebank part-of-speech tag, which the OpenNLP English models
+     * tag with.
+     *
+     * @param tag the tag.
+     * @return the definition type or null if the tag is not a noun, verb, adjective, or adverb.
+     */
+    static DefinitionType partOfSpeech(String tag) {
+        if (tag.startsWith("NN")) {
+            return DefinitionType.NOUN;
+        }
+        if (tag.startsWith("VB")) {
+            return DefinitionType.VERB;
+        }
+        if (tag.startsWith("JJ")) {
+            return DefinitionType.ADJECTIVE;
+        }
+        if (tag.startsWith("RB")) {
+            return DefinitionType.ADVERB;
+        }
+        return null;
+    }
+
+    /**
+     * Annotates the documents of an iterator in batches on the executor, keeping at most the buffer size of batches in
+     * flight ahead of the consumer, and returns the annotations of each batch in the order of the documents. A batch
+     * is only read from the iterator once the annotations of an earlier one are consumed.
+     */
+    private final class Pipeline extends Spliterators.AbstractSpliterator<List<Annotation>> {
+        private final Iterator<String> documents;
+        private final Deque<CompletableFuture<List<Annotation>>> pending = new ArrayDeque<>();
+        private long position;
+        private boolean started;
+
+        Pipeline(Iterator<String> documents) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.documents = documents;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<Annotation>> action) {
+            if (!started) {
+                // wait for the dictionary here, so the tasks do not block the executor while it loads
+                dictionary.warmUp().join();
+                started = true;
+            }
+            while (pending.size() < bufferSize && documents.hasNext()) {
+                long first = position;
+                List<String> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && documents.hasNext()) {
+                    batch.add(documents.next());
+                }
+                position += batch.size();
+                pending.add(CompletableFuture.supplyAsync(() -> annotate(first, batch), executor));
+            }
+
+            CompletableFuture<List<Annotation>> next = pending.poll();
+            if (next == null) {
+                return false;
+            }
+            try {
+                action.accept(next.join());
+            } catch (CompletionException e) {
+                cancel();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            return true;
+        }
+
+        void cancel() {
+            pending.forEach(task -> task.cancel(false));
+            pending.clear();
+        }
+    }
+
+    /**
+     * Configures and creates a {@link TextAnnotator}.
+     */
+    public static final class Builder {
+        private final WordDictionary dictionary;
+        private TokenizerModel tokenizerModel;
+        private POSModel posModel;
+        private Set<DefinitionType> definitionTypes = EnumSet.allOf(DefinitionType.class);
+        private boolean includeSupplemental;
+        private Executor executor = ForkJoinPool.commonPool();
+        private int batchSize = 64;
+        private int bufferSize = 2 * Runtime.getRuntime().availableProcessors();
+
+        private Builder(WordDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        /**
+         * Sets the OpenNLP tokenizer model the documents are split in to tokens with. Defaults to none, which splits
+         * the documents in to runs of letters, digits, and punctuation with the OpenNLP simple tokenizer.
+         *
+         * @param tokenizerModel the tokenizer model or null to use the simple tokenizer.
+         * @return this builder.
+         */
+        public Builder tokenizerModel(TokenizerModel tokenizerModel) {
+            this.tokenizerModel = tokenizerModel;
+            return this;
+        }
+
+        /**
+         * Sets the OpenNLP part-of-speech model the tokens are tagged with, such as the English maxent model. Each
+         * token is then only resolved as the definition type of its tag. Defaults to none, which resolves each token
+         * as any of the definition types.
+         *
+         * @param posModel the part-of-speech model or null to not tag the tokens.
+         * @return this builder.
+         */
+        public Builder posModel(POSModel posModel) {
+            this.posModel = posModel;
+            return this;
+        }
+
+        /**
+         * Limits the annotations to the tokens which resolve to words of the supplied definition types, and their
+         * synonyms to those of the supplied definition types. Defaults to all definition types.
+         *
+         * @param definitionTypes the definition types to annotate.
+         * @return this builder.
+         */
+        public Builder definitionTypes(DefinitionType... definitionTypes) {
+            if (definitionTypes == null || definitionTypes.length == 0) {
+                throw new IllegalArgumentException("at least one definition type is required");
+            }
+            this.definitionTypes = EnumSet.copyOf(Arrays.asList(definitionTypes));
+            return this;
+        }
+
+        /**
+         * Sets whether the synonyms of the annotations include the synonyms from additional sources other than
+         * WordNet. Defaults to false.
+         *
+         * @param includeSupplemental supply true to include the additional synonyms.
+         * @return this builder.
+         */
+        public Builder includeSupplemental(boolean includeSupplemental) {
+            this.includeSupplemental = includeSupplemental;
+            return this;
+        }
+
+        /**
+         * Sets the executor which annotates the documents of a stream. Defaults to the common fork-join pool.
+         *
+         * @param executor the executor.
+         * @return this builder.
+         */
+        public Builder executor(Executor executor) {
+            if (executor == null) {
+                throw new IllegalArgumentException("an executor is required");
+            }
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the number of documents of a stream which are annotated together by one task of the executor. Larger
+         * batches spend less time handing the documents between threads, smaller batches suit long documents.
+         * Defaults to 64.
+         *
+         * @param batchSize the number of documents.
+         * @return this builder.
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("the batch size must be at least one");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the greatest number of batches of a stream which are read and annotated ahead of the consumer of the
+         * annotations. This bounds both the parallelism and the memory held by the annotations not yet consumed.
+         * Defaults to twice the number of available processors.
+         *
+         * @param bufferSize the number of batches.
+         * @return this builder.
+         */
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize < 1) {
+                throw new IllegalArgumentException("the buffer size must be at least one");
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Creates the annotator.
+         *
+         * @return the annotator.
+         */
+        public TextAnnotator build() {
+            return new TextAnnotator(this);
+        }
+    }
+}
@@ -0,0 +1,468 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>
+ * Creates {@link WordDictionary} instances without the need of a Spring context. This is the entry point for
+ * command line jobs, serverless functions, and any other application which does not use Spring.
+ * </p>
+ * <pre>
+ * WordDictionary wordDictionary = WordDictionaries.builder()
+ *         .eagerLoad(true)
+ *         .build();
+ * </pre>
+ * <p>
+ * Each call to {@link Builder#build()} creates a new dictionary with its own copy of the datasets, so applications
+ * should create one instance and share it.
+ * </p>
+ */
+public final class WordDictionaries {
+    private WordDictionaries() {
+    }
+
+    /**
+     * Returns a new builder for configuring and creating a {@link WordDictionary}.
+     *
+     * @return the builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Customizes the builder of a dictionary created by a framework, such as the Spring bean, after the configuration
+     * properties are applied.
+     */
+    @FunctionalInterface
+    public interface Customizer {
+        /**
+         * Customizes the supplied builder.
+         *
+         * @param builder the builder.
+         */
+        void customize(Builder builder);
+    }
+
+    /**
+     * Configures and creates a {@link WordDictionary}.
+     */
+    public static final class Builder {
+        private static final String PROPERTY_PREFIX = "wordnet.";
+
+        private Path snapshotPath;
+        private boolean useSnapshot = true;
+        private Executor executor;
+        private boolean eagerLoad;
+        private Set<DefinitionType> definitionTypes = EnumSet.allOf(DefinitionType.class);
+        private boolean loadSupplemental = true;
+        private boolean progressiveLoad;
+        private boolean lazyGlosses;
+        private boolean compressGlosses;
+        private int glossCacheSize;
+        private boolean lemmaAutomaton;
+        private int baseFormCacheSize = 4096;
+        private boolean indexMembers;
+        private boolean indexGlosses;
+        private int synonymCacheSize;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the dictionary snapshot file to memory map instead of the snapshot packaged with this project.
+         *
+         * @param snapshotPath the snapshot file.
+         * @return this builder.
+         */
+        public Builder snapshot(Path snapshotPath) {
+            this.snapshotPath = snapshotPath;
+            return this;
+        }
+
+        /**
+         * Sets whether the dictionary is served from the precompiled snapshot, when one exists, or is always parsed
+         * from the WordNet text files. Defaults to true.
+         *
+         * @param useSnapshot supply false to always parse the text files.
+         * @return this builder.
+         */
+        public Builder useSnapshot(boolean useSnapshot) {
+            this.useSnapshot = useSnapshot;
+            return this;
+        }
+
+        /**
+         * Sets whether each of the WordNet text files is parsed on its own task of the common fork-join pool.
+         * Defaults to false.
+         *
+         * @param parallelLoad supply true to parse the files in parallel.
+         * @return this builder.
+         */
+        public Builder parallelLoad(boolean parallelLoad) {
+            this.executor = parallelLoad ? ForkJoinPool.commonPool() : null;
+            return this;
+        }
+
+        /**
+         * Sets the executor which parses each of the WordNet text files on its own task.
+         *
+         * @param executor the executor or null to parse the files serially.
+         * @return this builder.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets whether the dictionary starts loading on a background thread as soon as it is built instead of on
+         * first access. Defaults to false.
+         *
+         * @param eagerLoad supply true to load in the background when built.
+         * @return this builder.
+         */
+        public Builder eagerLoad(boolean eagerLoad) {
+            this.eagerLoad = eagerLoad;
+            return this;
+        }
+
+        /**
+         * Limits the dictionary to the supplied definition types. Only the WordNet data files of these types are
+         * loaded, and words which have none of these types are not found. Defaults to all definition types.
+         *
+         * @param definitionTypes the definition types to load.
+         * @return this builder.
+         */
+        public Builder definitionTypes(DefinitionType... definitionTypes) {
+            if (definitionTypes == null || definitionTypes.length == 0) {
+                throw new IllegalArgumentException("at least one definition type is required");
+            }
+            this.definitionTypes = EnumSet.copyOf(Arrays.asList(definitionTypes));
+            return this;
+        }
+
+        /**
+         * Sets whether the additional synonym and related word datasets are loaded. When not loaded, queries which
+         * include the supplemental data only return the WordNet data and there are no related words. Defaults to
+         * true.
+         *
+         * @param loadSupplemental supply false to skip loading the additional datasets.
+         * @return this builder.
+         */
+        public Builder loadSupplemental(boolean loadSupplemental) {
+            this.loadSupplemental = loadSupplemental;
+            return this;
+        }
+
+        /**
+         * Sets whether each definition type becomes queryable as soon as its WordNet data file is parsed, rather than
+         * once every file is parsed. Loading starts in the background on first access, or when built if eager
+         * loading is configured. A query which only reads the definitions of the types it asks for, such as
+         * getSynonyms, autocomplete, suggest, baseForms, and the similarity measures, only waits for those types.
+         * Every other query waits for all of them, including getAllSynonyms, getAllRelated, expand, and
+         * searchDefinitions, since their results depend on every definition of a word or of the dictionary. Either
+         * way a query returns the same result as it does once the whole dictionary is loaded. Defaults to false.
+         *
+         * @param progressiveLoad supply true to publish each definition type as it is loaded.
+         * @return this builder.
+         */
+        public Builder progressiveLoad(boolean progressiveLoad) {
+            this.progressiveLoad = progressiveLoad;
+            return this;
+        }
+
+        /**
+         * Sets whether the definitions and usages are left in the WordNet text files and read from the memory-mapped
+         * file each time they are requested, rather than kept on the heap. Only the words and synonyms are kept
+         * resident, which suits applications that mostly query synonyms. Only used when the dictionary is parsed from
+         * the text files, since a snapshot is never held on the heap. Defaults to false.
+         *
+         * @param lazyGlosses supply true to read the definitions and usages on demand.
+         * @return this builder.
+         */
+        public Builder lazyGlosses(boolean lazyGlosses) {
+            this.lazyGlosses = lazyGlosses;
+            return this;
+        }
+
+        /**
+         * Sets whether the definitions and usages are kept on the heap as deflate compressed blocks and inflated each
+         * time they are requested, rather than kept as strings. This keeps a much smaller heap for applications which
+         * rarely show definitions, without reading the text files after loading. Ignored when lazy glosses are
+         * configured, and only used when the dictionary is parsed from the text files. Defaults to false.
+         *
+         * @param compressGlosses supply true to compress the definitions and usages.
+         * @return this builder.
+         */
+        public Builder compressGlosses(boolean compressGlosses) {
+            this.compressGlosses = compressGlosses;
+            return this;
+        }
+
+        /**
+         * Sets the number of the most recently read definitions, along with their usages, which are cached when lazy
+         * or compressed glosses are configured. Defaults to zero, meaning nothing is cached.
+         *
+         * @param glossCacheSize the number of definitions to cache.
+         * @return this builder.
+         */
+        public Builder glossCacheSize(int glossCacheSize) {
+            if (glossCacheSize < 0) {
+                throw new IllegalArgumentException("the gloss cache size cannot be negative");
+            }
+            this.glossCacheSize = glossCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets whether the words are stored in a minimal finite state automaton, which shares the common prefixes
+         * and suffixes of the words, rather than in a sorted table of their bytes with a hash index. The automaton
+         * takes a fraction of the memory while each lookup walks the automaton one byte at a time. When every data
+         * file is loaded, the automaton compiled at build time is mapped rather than built. Only used when the
+         * dictionary is parsed from the text files. Defaults to false.
+         *
+         * @param lemmaAutomaton supply true to store the words in an automaton.
+         * @return this builder.
+         */
+        public Builder lemmaAutomaton(boolean lemmaAutomaton) {
+            this.lemmaAutomaton = lemmaAutomaton;
+            return this;
+        }
+
+        /**
+         * Sets whether every lemma of a synset is a word defined by the synset, rather than only the first lemma
+         * which WordNet lists the synset under. When set, looking up a lemma, or querying its synonyms, returns every
+         * sense the lemma belongs to, and the synonyms of each definition are the other lemmas of its synset. The
+         * precompiled snapshot only indexes the first lemma, so the dictionary is parsed from the text files when
+         * set. Defaults to false.
+         *
+         * @param indexMembers supply true to define every lemma of a synset.
+         * @return this builder.
+         */
+        public Builder indexMembers(boolean indexMembers) {
+            this.indexMembers = indexMembers;
+            return this;
+        }
+
+        /**
+         * Sets whether the full-text index of the definitions and usages, which
+         * {@link WordDictionary#searchDefinitions(String, int, DefinitionType...)} searches, is built while the
+         * dictionary is loaded. Otherwise the index is built on the first search, so only applications which search
+         * the definitions pay for it. Defaults to false.
+         *
+         * @param indexGlosses supply true to build the index while loading.
+         * @return this builder.
+         */
+        public Builder indexGlosses(boolean indexGlosses) {
+            this.indexGlosses = indexGlosses;
+            return this;
+        }
+
+        /**
+         * Sets the number of words whose base forms, resolved by {@link WordDictionary#baseForms(String,
+         * DefinitionType...)}, are cached. Only words which have a base form are cached. Defaults to 4096.
+         *
+         * @param baseFormCacheSize the number of words to cache, or zero to cache nothing.
+         * @return this builder.
+         */
+        public Builder baseFormCacheSize(int baseFormCacheSize) {
+            if (baseFormCacheSize < 0) {
+                throw new IllegalArgumentException("the base form cache size cannot be negative");
+            }
+            this.baseFormCacheSize = baseFormCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of the most recently queried words whose synonyms, returned by
+         * {@link WordDictionary#getSynonyms(String, boolean, DefinitionType...)}, are cached. The synonyms of a word
+         * are cached separately for each combination of including the supplemental synonyms and of the definition
+         * types asked for. Words which are not found are not cached. The cached maps are returned to every caller
+         * as they are, so when the cache is configured the returned maps cannot be modified. Defaults to zero,
+         * meaning nothing is cached.
+         *
+         * @param synonymCacheSize the number of entries to cache.
+         * @return this builder.
+         */
+        public Builder synonymCacheSize(int synonymCacheSize) {
+            if (synonymCacheSize < 0) {
+                throw new IllegalArgumentException("the synonym cache size cannot be negative");
+            }
+            this.synonymCacheSize = synonymCacheSize;
+            return this;
+        }
+
+        /**
+         * Applies the wordnet.* configuration properties found by the supplied lookup, such as the Spring
+         * environment or {@link System#getProperty(String)}. Each property is named after its builder method, for
+         * example wordnet.parallel-load for {@link #parallelLoad(boolean)}, and wordnet.definition-types takes a
+         * comma separated list of definition types. The properties which are missing or blank keep the values of
+         * this builder.
+         *
+         * @param properties returns the value of the supplied property name or null if it is not set.
+         * @return this builder.
+         * @throws IllegalArgumentException if a property value is not valid.
+         */
+        public Builder properties(Function<String, String> properties) {
+            booleanProperty(properties, "parallel-load", this::parallelLoad);
+            booleanProperty(properties, "eager-load", this::eagerLoad);
+            String types = property(properties, "definition-types");
+            if (types != null) {
+                definitionTypes(definitionTypes(types));
+            }
+            booleanProperty(properties, "load-supplemental", this::loadSupplemental);
+            booleanProperty(properties, "progressive-load", this::progressiveLoad);
+            booleanProperty(properties, "lazy-glosses", this::lazyGlosses);
+            booleanProperty(properties, "compress-glosses", this::compressGlosses);
+            intProperty(properties, "gloss-cache-size", this::glossCacheSize);
+            booleanProperty(properties, "lemma-automaton", this::lemmaAutomaton);
+            intProperty(properties, "base-form-cache-size", this::baseFormCacheSize);
+            booleanProperty(properties, "index-members", this::indexMembers);
+            booleanProperty(properties, "index-glosses", this::indexGlosses);
+            intProperty(properties, "synonym-cache-size", this::synonymCacheSize);
+            return this;
+        }
+
+        /**
+         * Returns the trimmed value of the supplied property.
+         *
+         * @param properties the property lookup.
+         * @param name       the property name without the wordnet. prefix.
+         * @return the value or null if the property is missing or blank.
+         */
+        private static String property(Function<String, String> properties, String name) {
+            String value = properties.apply(PROPERTY_PREFIX + name);
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return value.trim();
+        }
+
+        private static void booleanProperty(Function<String, String> properties, String name,
+                                            Consumer<Boolean> setter) {
+            String value = property(properties, name);
+            if (value == null) {
+                return;
+            }
+            if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException(PROPERTY_PREFIX + name + " must be true or false: " + value);
+            }
+            setter.accept(Boolean.parseBoolean(value));
+        }
+
+        private static void intProperty(Function<String, String> properties, String name, IntConsumer setter) {
+            String value = property(properties, name);
+            if (value == null) {
+                return;
+            }
+            try {
+                setter.accept(Integer.parseInt(value));
+            } catch (NumberFormatException exception) {
+                throw new IllegalArgumentException(PROPERTY_PREFIX + name + " must be a number: " + value, exception);
+            }
+        }
+
+        private static DefinitionType[] definitionTypes(String value) {
+            List<DefinitionType> types = new ArrayList<>();
+            for (String type : value.split(",")) {
+                if (!type.isBlank()) {
+                    types.add(DefinitionType.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+                }
+            }
+            return types.toArray(new DefinitionType[0]);
+        }
+
+        /**
+         * Creates the dictionary.
+         *
+         * @return the dictionary.
+         */
+        public WordDictionary build() {
+            return new DefaultWordDictionary(this);
+        }
+
+        Path getSnapshotPath() {
+            return snapshotPath;
+        }
+
+        boolean isUseSnapshot() {
+            return useSnapshot;
+        }
+
+        Executor getExecutor() {
+            return executor;
+        }
+
+        boolean isEagerLoad() {
+            return eagerLoad;
+        }
+
+        Set<DefinitionType> getDefinitionTypes() {
+            return EnumSet.copyOf(definitionTypes);
+        }
+
+        boolean isLoadSupplemental() {
+            return loadSupplemental;
+        }
+
+        boolean isProgressiveLoad() {
+            return progressiveLoad;
+        }
+
+        boolean isLazyGlosses() {
+            return lazyGlosses;
+        }
+
+        boolean isCompressGlosses() {
+            return compressGlosses;
+        }
+
+        int getGlossCacheSize() {
+            return glossCacheSize;
+        }
+
+        boolean isLemmaAutomaton() {
+            return lemmaAutomaton;
+        }
+
+        int getBaseFormCacheSize() {
+            return baseFormCacheSize;
+        }
+
+        boolean isIndexMembers() {
+            return indexMembers;
+        }
+
+        boolean isIndexGlosses() {
+            return indexGlosses;
+        }
+
+        int getSynonymCacheSize() {
+            return synonymCacheSize;
+        }
+    }
+}
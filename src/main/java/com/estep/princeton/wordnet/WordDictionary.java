@@ -12,14 +12,33 @@
  */
 package com.estep.princeton.wordnet;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents an english word dictionary which allows for the retrieval of a word, its definition, and all synonyms
  * and any related words.
  */
 public interface WordDictionary {
+    /**
+     * Starts loading the dictionary on a background thread, if it is not already loaded or being loaded, so that the
+     * first query does not pay for the load.
+     *
+     * @return a future which completes with this dictionary once it is ready to be queried, or completes
+     * exceptionally if the dictionary could not be loaded, in which case every query rethrows the failure.
+     */
+    CompletableFuture<WordDictionary> warmUp();
+
+    /**
+     * Returns true once the dictionary is loaded and ready to be queried.
+     *
+     * @return true if the dictionary is loaded.
+     */
+    boolean isReady();
+
     /**
      * Returns a list of all words in the dictionary.
      *
@@ -57,7 +76,8 @@ public interface WordDictionary {
     Set<String> getAllRelated(String word, DefinitionType... specificTypes);
 
     /**
-     * Returns a Map of synonyms associated with the supplied word broken up by definition type.
+     * Returns a Map of synonyms associated with the supplied word broken up by definition type. When a synonym cache
+     * is configured, the returned map and its sets are shared with other callers and cannot be modified.
      *
      * @param word                the word.
      * @param includeSupplemental supply true to include synonyms from additional sources other than wordnet.
@@ -67,4 +87,241 @@ public interface WordDictionary {
      */
     Map<DefinitionType, Set<String>> getSynonyms(String word, boolean includeSupplemental,
                                                  DefinitionType... specificTypes);
+
+    /**
+     * Returns the word information of each of the supplied words. Each distinct word is looked up once, no matter how
+     * often or in which case it is supplied, and large batches are looked up in parallel.
+     *
+     * @param words the words to lookup.
+     * @return the Word information keyed by each supplied word which is found.
+     */
+    Map<String, Word> lookupAll(Collection<String> words);
+
+    /**
+     * Returns a Set of synonyms associated with each of the supplied words. Each distinct word is queried once, no
+     * matter how often or in which case it is supplied, and large batches are queried in parallel.
+     *
+     * @param words               the words.
+     * @param includeSupplemental supply true to include synonyms from additional sources other than wordnet.
+     * @param specificTypes       an optional argument, that if supplied, will filter the returned words to only
+     *                            those that match the supplied array of definition types.
+     * @return the synonyms keyed by each supplied word, with an empty set for a word without synonyms.
+     */
+    Map<String, Set<String>> getAllSynonymsAll(Collection<String> words, boolean includeSupplemental,
+                                               DefinitionType... specificTypes);
+
+    /**
+     * Returns a Map of synonyms broken up by definition type associated with each of the supplied words. Each distinct
+     * word is queried once, no matter how often or in which case it is supplied, and large batches are queried in
+     * parallel.
+     *
+     * @param words               the words.
+     * @param includeSupplemental supply true to include synonyms from additional sources other than wordnet.
+     * @param specificTypes       an optional argument, that if supplied, will filter the returned words to only
+     *                            those that match the supplied array of definition types.
+     * @return the synonyms keyed by each supplied word, with an empty map for a word without synonyms.
+     */
+    Map<String, Map<DefinitionType, Set<String>>> getSynonymsAll(Collection<String> words, boolean includeSupplemental,
+                                                                 DefinitionType... specificTypes);
+
+    /**
+     * Returns the words which start with the supplied prefix, for type-ahead search. The words are ranked by their
+     * number of definitions, meaning their number of senses, most first, and words with the same number of senses are
+     * in alphabetical order.
+     *
+     * @param prefix        the prefix the words start with.
+     * @param limit         the maximum number of words to return.
+     * @param specificTypes an optional argument, that if supplied, will only return the words with at least one of
+     *                      the supplied definition types and will only count the definitions of those types.
+     * @return the ranked words or an empty list if none exist.
+     */
+    List<String> autocomplete(String prefix, int limit, DefinitionType... specificTypes);
+
+    /**
+     * Returns the words spelled like the supplied word, for suggesting corrections when the word is not found. An
+     * edit inserts, deletes, or substitutes one letter or swaps two adjacent letters. The words are ranked by their
+     * number of edits, fewest first, then by their number of senses, most first, and then in alphabetical order. A
+     * word which is found is its own best suggestion.
+     *
+     * @param word          the misspelled word.
+     * @param maxEdits      the maximum number of edits between the word and a suggestion, usually one or two.
+     * @param limit         the maximum number of words to return.
+     * @param specificTypes an optional argument, that if supplied, will only return the words with at least one of
+     *                      the supplied definition types and will only count the definitions of those types.
+     * @return the ranked words or an empty list if none exist.
+     */
+    List<String> suggest(String word, int maxEdits, int limit, DefinitionType... specificTypes);
+
+    /**
+     * Returns the base forms of the supplied word which are in the dictionary, such as "goose" for "geese" or "run"
+     * for "running", resolved by the inflectional rules and exception lists of each definition type. A word which is
+     * in the dictionary is its own first base form. The base forms are ordered by their definition type, nouns first.
+     *
+     * @param word          the possibly inflected word.
+     * @param specificTypes an optional argument, that if supplied, will only resolve the word as the supplied
+     *                      definition types.
+     * @return the base forms or an empty list if none exist.
+     */
+    List<String> baseForms(String word, DefinitionType... specificTypes);
+
+    /**
+     * Returns the supplied word information from the dictionary, or the information of its first base form when the
+     * word is an inflected form which is not in the dictionary itself.
+     *
+     * @param word the possibly inflected word to lookup.
+     * @return the Word information or null if neither the word nor any base form is found.
+     * @see #baseForms(String, DefinitionType...)
+     */
+    Word lookupInflected(String word);
+
+    /**
+     * Returns the words reached from each definition of the supplied word by following the WordNet pointers of the
+     * supplied type, such as the hypernyms of the hypernyms of the word for a depth of two. The words are returned in
+     * the order they are reached, nearest first, and the supplied word is not returned.
+     *
+     * @param word          the word.
+     * @param pointerType   the type of the relation to follow.
+     * @param depth         the maximum number of pointers to follow from each definition of the word.
+     * @param specificTypes an optional argument, that if supplied, will filter the returned words to only those
+     *                      reached as definitions of the supplied definition types.
+     * @return the related words or an empty set if none exist.
+     */
+    Set<String> getRelated(String word, PointerType pointerType, int depth, DefinitionType... specificTypes);
+
+    /**
+     * Returns the words with a more general meaning than any definition of the supplied word, such as "canine" for
+     * "dog".
+     *
+     * @param word          the word.
+     * @param specificTypes an optional argument, that if supplied, will filter the returned words to only those
+     *                      of the supplied definition types.
+     * @return the hypernyms or an empty set if none exist.
+     * @see PointerType#HYPERNYM
+     */
+    Set<String> getHypernyms(String word, DefinitionType... specificTypes);
+
+    /**
+     * Returns the words meaning the opposite of any definition of the supplied word, such as "bad" for "good".
+     *
+     * @param word          the word.
+     * @param specificTypes an optional argument, that if supplied, will filter the returned words to only those
+     *                      of the supplied definition types.
+     * @return the antonyms or an empty set if none exist.
+     * @see PointerType#ANTONYM
+     */
+    Set<String> getAntonyms(String word, DefinitionType... specificTypes);
+
+    /**
+     * Returns how close in meaning the supplied words are by the supplied measure. Each definition of the first word
+     * is compared with each definition of the second word of the same definition type, through their common
+     * hypernyms, and the closest pair is returned.
+     *
+     * @param word1         the first word.
+     * @param word2         the second word.
+     * @param measure       the similarity measure.
+     * @param specificTypes an optional argument, that if supplied, will only compare the definitions of the supplied
+     *                      definition types.
+     * @return the similarity, or zero if either word is not found or they have no definition type in common.
+     */
+    double similarity(String word1, String word2, SimilarityMeasure measure, DefinitionType... specificTypes);
+
+    /**
+     * Returns the {@link SimilarityMeasure#PATH path similarity} of the supplied words.
+     *
+     * @param word1         the first word.
+     * @param word2         the second word.
+     * @param specificTypes an optional argument, that if supplied, will only compare the definitions of the supplied
+     *                      definition types.
+     * @return the similarity, or zero if either word is not found or they have no definition type in common.
+     * @see #similarity(String, String, SimilarityMeasure, DefinitionType...)
+     */
+    double pathSimilarity(String word1, String word2, DefinitionType... specificTypes);
+
+    /**
+     * Returns the {@link SimilarityMeasure#WU_PALMER Wu-Palmer similarity} of the supplied words.
+     *
+     * @param word1         the first word.
+     * @param word2         the second word.
+     * @param specificTypes an optional argument, that if supplied, will only compare the definitions of the supplied
+     *                      definition types.
+     * @return the similarity, or zero if either word is not found or they have no definition type in common.
+     * @see #similarity(String, String, SimilarityMeasure, DefinitionType...)
+     */
+    double wuPalmerSimilarity(String word1, String word2, DefinitionType... specificTypes);
+
+    /**
+     * Returns the {@link SimilarityMeasure#LEACOCK_CHODOROW Leacock-Chodorow similarity} of the supplied words.
+     *
+     * @param word1         the first word.
+     * @param word2         the second word.
+     * @param specificTypes an optional argument, that if supplied, will only compare the definitions of the supplied
+     *                      definition types.
+     * @return the similarity, or zero if either word is not found or they have no definition type in common.
+     * @see #similarity(String, String, SimilarityMeasure, DefinitionType...)
+     */
+    double leacockChodorowSimilarity(String word1, String word2, DefinitionType... specificTypes);
+
+    /**
+     * Returns the {@link SimilarityMeasure#WU_PALMER Wu-Palmer similarity} of every pair of the supplied words.
+     *
+     * @param words the words.
+     * @return the similarities, where the value at {@code [i][j]} is the similarity of the words at {@code i} and
+     * {@code j}.
+     * @see #similarityMatrix(List, SimilarityMeasure, DefinitionType...)
+     */
+    double[][] similarityMatrix(List<String> words);
+
+    /**
+     * Returns the similarity of every pair of the supplied words by the supplied measure, such as to rank a list of
+     * candidate words against each other. The definitions of each distinct word are looked up once, and large lists
+     * are compared in parallel.
+     *
+     * @param words         the words.
+     * @param measure       the similarity measure.
+     * @param specificTypes an optional argument, that if supplied, will only compare the definitions of the supplied
+     *                      definition types.
+     * @return the similarities, where the value at {@code [i][j]} is the similarity of the words at {@code i} and
+     * {@code j}, or zero if either word is not found or they have no definition type in common.
+     * @see #similarity(String, String, SimilarityMeasure, DefinitionType...)
+     */
+    double[][] similarityMatrix(List<String> words, SimilarityMeasure measure, DefinitionType... specificTypes);
+
+    /**
+     * Returns the words reached from the supplied word by repeatedly following its synonyms and related words, such
+     * as to expand a search query. Each hop is to a WordNet synonym, an additional synonym, or a related word of a
+     * word already reached. The words are returned with the fewest hops they are reached in, nearest first, and the
+     * search stops once the maximum number of words is found, so no more than that many words are ever expanded.
+     *
+     * @param word          the word.
+     * @param maxHops       the maximum number of hops from the supplied word.
+     * @param maxResults    the maximum number of words to return.
+     * @param specificTypes an optional argument, that if supplied, will only follow the definitions of the supplied
+     *                      definition types and only return words of those types.
+     * @return the reached words mapped to their number of hops, in the order they are reached, or an empty map if the
+     * word is not found.
+     */
+    Map<String, Integer> expand(String word, int maxHops, int maxResults, DefinitionType... specificTypes);
+
+    /**
+     * Returns the definitions whose definition or usages contain the words of the supplied query, such as to find the
+     * words whose definition mentions "flower". Adjacent words of the query must all be contained, and OR separates
+     * alternatives, so "red flower OR blossom" finds the definitions containing both "red" and "flower", or containing
+     * "blossom". The definitions are ranked by the BM25 relevance of the words of the query, most relevant first.
+     *
+     * @param query         the query.
+     * @param limit         the maximum number of definitions to return.
+     * @param specificTypes an optional argument, that if supplied, will only return the definitions of the supplied
+     *                      definition types.
+     * @return the ranked definitions, each of the word it is listed under, or an empty list if none match.
+     */
+    List<Definition> searchDefinitions(String query, int limit, DefinitionType... specificTypes);
+
+    /**
+     * Returns the statistics of the cache of the synonyms returned by
+     * {@link #getSynonyms(String, boolean, DefinitionType...)}, such as its hit rate, to size the cache for the
+     * queries of an application.
+     *
+     * @return the statistics, which are all zero when the synonyms are not cached.
+     */
+    CacheStats getSynonymCacheStats();
 }
@@ -0,0 +1,124 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * <p>
+ * A bounded, level by level breadth first expansion over the words of a dictionary, where each word is a node
+ * identified by an int id and its neighbors are supplied by the dictionary. Every word of one level is expanded before
+ * any word of the next, so each word is reported with the fewest hops it is reached in.
+ * </p>
+ * <p>
+ * The visited words are marked in a bitset over the ids, and each thread reuses one bitset and one queue for all of
+ * its expansions. Only the bits of the queued words are cleared afterwards, so an expansion costs no more than the
+ * words it visits. The expansion stops as soon as it has found the maximum number of words, so it expands at most that
+ * many words plus the starting word.
+ * </p>
+ */
+final class WordExpansion {
+    private static final ThreadLocal<Visits> VISITS = ThreadLocal.withInitial(Visits::new);
+
+    private WordExpansion() {
+    }
+
+    /**
+     * Expands the supplied starting word.
+     *
+     * @param start      the id of the starting word, which is not reported.
+     * @param size       the number of ids.
+     * @param maxHops    the maximum number of hops from the starting word.
+     * @param maxResults the maximum number of words to report.
+     * @param neighbors  supplies the neighbors of a word.
+     * @param words      returns the word of an id.
+     * @return the reached words mapped to their number of hops, in the order they are reached.
+     */
+    static Map<String, Integer> expand(int start, int size, int maxHops, int maxResults, Neighbors neighbors,
+                                       IntFunction<String> words) {
+        Map<String, Integer> expanded = new LinkedHashMap<>();
+        Visits visits = VISITS.get();
+        visits.reset(size);
+        try {
+            visits.add(start);
+            int head = 0;
+            for (int hop = 1; hop <= maxHops && head < visits.size && expanded.size() < maxResults; hop++) {
+                Integer hops = hop;
+                for (int tail = visits.size; head < tail && expanded.size() < maxResults; head++) {
+                    neighbors.forEach(visits.queue[head], id -> {
+                        if (visits.add(id)) {
+                            expanded.put(words.apply(id), hops);
+                        }
+                        return expanded.size() < maxResults;
+                    });
+                }
+            }
+        } finally {
+            visits.clear();
+        }
+        return expanded;
+    }
+
+    /**
+     * Supplies the neighbors of the words of an expansion.
+     */
+    interface Neighbors {
+        /**
+         * Passes each neighbor of the supplied word to the supplied sink until the sink returns false.
+         *
+         * @param id   the id of the word.
+         * @param sink receives the id of each neighbor and returns false to stop.
+         */
+        void forEach(int id, IntPredicate sink);
+    }
+
+    /**
+     * The visited bitset and queue of the expansions of one thread. Every visited word is in the queue.
+     */
+    private static final class Visits {
+        private long[] visited = new long[0];
+        private int[] queue = new int[64];
+        private int size;
+
+        void reset(int ids) {
+            if (visited.length < (ids + 63) >>> 6) {
+                visited = new long[(ids + 63) >>> 6];
+            }
+            size = 0;
+        }
+
+        boolean add(int id) {
+            long bit = 1L << id;
+            if ((visited[id >>> 6] & bit) != 0) {
+                return false;
+            }
+            visited[id >>> 6] |= bit;
+            if (size == queue.length) {
+                queue = Arrays.copyOf(queue, size * 2);
+            }
+            queue[size++] = id;
+            return true;
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                visited[queue[i] >>> 6] = 0;
+            }
+            size = 0;
+        }
+    }
+}
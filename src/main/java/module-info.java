@@ -11,7 +11,9 @@
  Proprietary and confidential.
  */
 module estep.princeton.wordnet {
-    requires spring.boot;
-    requires spring.context;
+    requires static spring.beans;
+    requires static spring.context;
+    requires static spring.core;
+    requires transitive org.apache.opennlp.tools;
     exports com.estep.princeton.wordnet;
 }
\ No newline at end of file
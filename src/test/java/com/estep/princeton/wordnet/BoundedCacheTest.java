@@ -0,0 +1,69 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Verifies the {@link BoundedCache} evicts the least recently used entries once full, across all of its stripes, and
+ * counts its hits, misses, and evictions.
+ */
+public class BoundedCacheTest {
+    @Test
+    public void testEviction() {
+        AtomicInteger loads = new AtomicInteger();
+        BoundedCache<Integer, String> cache = new BoundedCache<>(2);
+        for (int key : new int[]{1, 2, 1, 3, 1, 2}) {
+            cache.get(key, k -> {
+                loads.incrementAndGet();
+                return Integer.toString(k);
+            });
+        }
+        // 2 is evicted by 3, as 1 was used more recently, and 3 is evicted by 2
+        Assertions.assertEquals(4, loads.get());
+        CacheStats stats = cache.stats();
+        Assertions.assertEquals(2, stats.getHitCount());
+        Assertions.assertEquals(4, stats.getMissCount());
+        Assertions.assertEquals(2, stats.getEvictionCount());
+        Assertions.assertEquals(2, stats.getSize());
+        Assertions.assertEquals(1.0 / 3, stats.getHitRate(), 1e-9);
+
+        Assertions.assertNull(cache.get(4, k -> null));
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testStripes() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(10_000);
+        IntStream.range(0, 100_000).parallel().forEach(key -> cache.get(key % 20_000, k -> k));
+        CacheStats stats = cache.stats();
+        Assertions.assertEquals(10_000, stats.getSize());
+        Assertions.assertEquals(100_000, stats.getHitCount() + stats.getMissCount());
+        // two threads missing the same key both put it, which replaces rather than evicts
+        Assertions.assertTrue(stats.getEvictionCount() > 0);
+        Assertions.assertTrue(stats.getEvictionCount() <= stats.getMissCount() - stats.getSize());
+    }
+
+    @Test
+    public void testDisabled() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(0);
+        Assertions.assertFalse(cache.isEnabled());
+        Assertions.assertEquals(1, cache.get(1, k -> k));
+        Assertions.assertEquals(0, cache.stats().getMissCount());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(-1));
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the byte level {@link DataFileParser} produces exactly the same words, definitions, and pointers as the
+ * original String based parser, which is kept here as the reference implementation, and that the glosses read on
+ * demand or inflated from compressed blocks match the glosses kept on the heap. Each test runs once for every data
+ * file on the classpath.
+ */
+public class DataFileParserTest {
+    private static final int WORD_COUNT = 3;
+    private static final int WORD = 4;
+
+    /**
+     * Returns the definition types whose data file is on the classpath, which parameterize every test.
+     *
+     * @return the definition types.
+     */
+    static Set<DefinitionType> dataFiles() {
+        return TestDataFiles.availableTypes();
+    }
+
+    @ParameterizedTest
+    @MethodSource("dataFiles")
+    public void testParserMatchesStringParser(DefinitionType type) throws IOException {
+        Map<String, Word> expected = new HashMap<>();
+        for (String line : lines(type)) {
+            addLineToDictionary(line, type, expected);
+        }
+
+        Map<String, Word> actual = words(new DataFileParser().parse(read(type), type));
+        assertSameWords(expected, actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("dataFiles")
+    public void testLazyGlossesMatchResidentGlosses(DefinitionType type) throws IOException {
+        byte[] bytes = read(type);
+        Map<String, Word> expected = words(new DataFileParser().parse(bytes, type));
+        Map<String, Word> actual = words(new DataFileParser(new LemmaPool(), new GlossReader(16)).parse(bytes, type));
+        assertSameWords(expected, actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("dataFiles")
+    public void testCompressedGlossesMatchResidentGlosses(DefinitionType type) throws IOException {
+        List<Synset> synsets = new DataFileParser().parse(read(type), type);
+        CompressedGlosses compressed = new CompressedGlosses(synsets, 0);
+        for (Synset synset : synsets) {
+            DataFileParser.Gloss gloss = compressed.read(type, synset.getOffset());
+            Assertions.assertEquals(synset.getGloss().getDefinition(), gloss.getDefinition());
+            Assertions.assertEquals(synset.getGloss().getUsages(), gloss.getUsages());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("dataFiles")
+    public void testPointersMatchStringParser(DefinitionType type) throws IOException {
+        List<Synset> synsets = new DataFileParser().parse(read(type), type);
+        int index = 0;
+        for (String line : lines(type)) {
+            String[] tokens = line.split(" ");
+            int pointerCountIdx = 4 + 2 * Integer.parseInt(tokens[3], 16);
+            long[] pointers = synsets.get(index++).getPointers();
+            Assertions.assertEquals(Integer.parseInt(tokens[pointerCountIdx]), pointers.length, line);
+            for (int i = 0; i < pointers.length; i++) {
+                int idx = pointerCountIdx + 1 + 4 * i;
+                String pos = tokens[idx + 2].equals("s") ? "a" : tokens[idx + 2];
+                Assertions.assertEquals(PointerType.toEnum(tokens[idx]), Synset.pointerType(pointers[i]));
+                Assertions.assertEquals(Integer.parseInt(tokens[idx + 1]), Synset.targetOffset(pointers[i]));
+                Assertions.assertEquals(DefinitionType.toEnum(pos), Synset.targetType(pointers[i]));
+                Assertions.assertEquals(Integer.parseInt(tokens[idx + 3].substring(0, 2), 16),
+                        Synset.sourceWord(pointers[i]));
+                Assertions.assertEquals(Integer.parseInt(tokens[idx + 3].substring(2), 16),
+                        Synset.targetWord(pointers[i]));
+            }
+        }
+        Assertions.assertEquals(synsets.size(), index);
+    }
+
+    @ParameterizedTest
+    @MethodSource("dataFiles")
+    public void testMemberIndexDefinesEveryLemma(DefinitionType type) throws IOException {
+        List<Synset> synsets = new DataFileParser().parse(read(type), type);
+        CompactDictionaryData data = new CompactDictionaryData(synsets, Collections.emptyMap(),
+                Collections.emptyMap(), LemmaTable::new, true);
+        for (Synset synset : synsets) {
+            for (String lemma : synset.getLemmas()) {
+                List<Definition> definitions = data.lookup(lemma).getDefinitions();
+                Definition definition = definitions.stream()
+                        .filter(d -> ((SynsetDefinition) d).getSynset().getOffset() == synset.getOffset())
+                        .findFirst()
+                        .orElseThrow();
+                Assertions.assertEquals(lemma, definition.getWord());
+                if (!lemma.equals(synset.getHead())) {
+                    Assertions.assertFalse(definition.getSynonyms().contains(lemma));
+                }
+                Assertions.assertTrue(definition.getSynonyms().containsAll(synset.getLemmas().stream()
+                        .filter(l -> !l.equals(lemma))
+                        .collect(Collectors.toList())));
+            }
+        }
+    }
+
+    /**
+     * Reads the data file of the supplied definition type.
+     *
+     * @param type the definition type.
+     * @return the contents of the file.
+     * @throws IOException if the file could not be read.
+     */
+    private byte[] read(DefinitionType type) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(DictionaryLoader.fileName(type))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Returns the synset lines of the data file of the supplied definition type, skipping the license header.
+     *
+     * @param type the definition type.
+     * @return the lines.
+     * @throws IOException if the file could not be read.
+     */
+    private List<String> lines(DefinitionType type) throws IOException {
+        return new String(read(type), StandardCharsets.UTF_8).lines()
+                .filter(line -> !line.startsWith("  "))
+                .collect(Collectors.toList());
+    }
+
+    private void assertSameWords(Map<String, Word> expected, Map<String, Word> actual) {
+        Assertions.assertEquals(expected.keySet(), actual.keySet());
+        for (Word word : expected.values()) {
+            assertSameWord(word, actual.get(word.getWord()));
+        }
+    }
+
+    private Map<String, Word> words(List<Synset> synsets) {
+        CompactDictionaryData data = new CompactDictionaryData(synsets, Collections.emptyMap(),
+                Collections.emptyMap());
+        Map<String, Word> words = new HashMap<>();
+        data.getAllWords().forEach(word -> words.put(word, data.lookup(word)));
+        return words;
+    }
+
+    private void assertSameWord(Word expected, Word actual) {
+        Assertions.assertEquals(expected.getWord(), actual.getWord());
+        Assertions.assertEquals(expected.getDefinitions().size(), actual.getDefinitions().size(), expected.getWord());
+        for (int i = 0; i < expected.getDefinitions().size(); i++) {
+            Definition expectedDefinition = expected.getDefinitions().get(i);
+            Definition actualDefinition = actual.getDefinitions().get(i);
+            Assertions.assertEquals(expectedDefinition.getWord(), actualDefinition.getWord());
+            Assertions.assertEquals(expectedDefinition.getDefinitionType(), actualDefinition.getDefinitionType());
+            Assertions.assertEquals(expectedDefinition.getDefinition(), actualDefinition.getDefinition());
+            Assertions.assertEquals(expectedDefinition.getSynonyms(), actualDefinition.getSynonyms());
+            Assertions.assertEquals(expectedDefinition.getUsages(), actualDefinition.getUsages());
+        }
+    }
+
+    private void addLineToDictionary(String line, DefinitionType type, Map<String, Word> dictionary) {
+        String[] tokens = line.split(" ");
+
+        int idx = WORD;
+        String word = tokens[idx].replace("_", " ");
+        word = word.trim().toLowerCase(Locale.ROOT);
+
+        BigInteger bi = new BigInteger(tokens[WORD_COUNT], 16);
+        int wordCount = bi.intValue();
+
+        List<String> syns = new ArrayList<>();
+        for (int i = 1; i < wordCount; i++) {
+            idx += 2;
+            String synonym = tokens[idx].replace("_", " ").trim().toLowerCase(Locale.ROOT);
+            syns.add(synonym);
+        }
+
+        idx = line.indexOf("|");
+        String definitionLine = line.substring(idx).trim();
+        List<String> usages = new ArrayList<>();
+
+        String definition;
+        idx = definitionLine.indexOf(";");
+        if (idx < 0) {
+            definition = definitionLine.substring(1);
+        } else {
+            definition = definitionLine.substring(1, idx).trim();
+            populateUsages(definitionLine, idx, usages);
+        }
+
+        Word wordEntry = dictionary.computeIfAbsent(word, Word::new);
+        Definition definitionEntry = new Definition(word, type);
+        definitionEntry.setDefinition(definition);
+        definitionEntry.getSynonyms().addAll(syns);
+        definitionEntry.getUsages().addAll(usages);
+        wordEntry.getDefinitions().add(definitionEntry);
+    }
+
+    private void populateUsages(String definitionLine, int lastIdx, List<String> usages) {
+        int startIdx = lastIdx + 1;
+        int idx = definitionLine.indexOf(";", startIdx);
+        while (idx >= 0) {
+            String usage = definitionLine.substring(startIdx, idx).trim();
+            usages.add(usage);
+
+            startIdx = idx + 1;
+            idx = definitionLine.indexOf(";", startIdx);
+            String nextUsage = definitionLine.substring(startIdx);
+            if (idx < 0 && nextUsage.length() > 0) {
+                usages.add(nextUsage);
+            }
+        }
+    }
+}
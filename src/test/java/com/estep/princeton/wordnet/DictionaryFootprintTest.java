@@ -0,0 +1,93 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records the retained size of the lemmas of the loaded dictionary. Before lemmas were pooled, every place a lemma is
+ * referenced held its own String instance. Pooling made each distinct lemma one String instance, and the
+ * {@link LemmaTable} now stores each distinct lemma once as UTF-8 bytes within one array.
+ */
+public class DictionaryFootprintTest {
+    @Test
+    public void testLemmasAreStoredOnce() {
+        Set<DefinitionType> types = EnumSet.noneOf(DefinitionType.class);
+        for (DefinitionType type : DefinitionType.values()) {
+            if (getClass().getResource(DictionaryLoader.fileName(type)) != null) {
+                types.add(type);
+            }
+        }
+        Assertions.assertFalse(types.isEmpty());
+        boolean supplemental = getClass().getResource("/data.syns") != null
+                && getClass().getResource("/data.related") != null;
+
+        CompactDictionaryData data = new DictionaryLoader(null, types, supplemental, GlossStorage.RESIDENT, 0,
+                false, false).load();
+
+        List<String> references = new ArrayList<>(data.getAllWords());
+        for (DefinitionType type : types) {
+            data.getSynsets(type).forEach(synset -> references.addAll(synset.getLemmas()));
+        }
+        addReferences(data.getAdditionalSynonyms(), references);
+        addReferences(data.getAdditionalRelated(), references);
+
+        Set<String> distinct = new HashSet<>(references);
+        LemmaTable lemmas = (LemmaTable) data.getLemmas();
+        Assertions.assertEquals(distinct.size(), lemmas.size(), "each distinct lemma should be stored once");
+
+        long strings = references.stream().mapToLong(DictionaryFootprintTest::retainedSize).sum();
+        long pooled = distinct.stream().mapToLong(DictionaryFootprintTest::retainedSize).sum();
+        long table = arraySize(lemmas.byteLength()) + arraySize((long) Integer.BYTES * (lemmas.size() + 1));
+        Assertions.assertTrue(pooled < strings, () -> distinct.size() + " pooled lemmas retain " + pooled
+                + " bytes, " + references.size() + " lemma references retain " + strings + " bytes");
+        Assertions.assertTrue(table < pooled, () -> "the lemma table retains " + table + " bytes, the pooled lemmas "
+                + "retain " + pooled + " bytes");
+    }
+
+    private void addReferences(Map<String, Set<String>> words, List<String> references) {
+        for (Map.Entry<String, Set<String>> entry : words.entrySet()) {
+            references.add(entry.getKey());
+            references.addAll(entry.getValue());
+        }
+    }
+
+    /**
+     * Estimates the retained size of a Latin-1 compact string on a 64-bit JVM with compressed oops: a 24 byte String
+     * plus a byte array.
+     *
+     * @param value the string.
+     * @return the estimated number of bytes.
+     */
+    private static long retainedSize(String value) {
+        return 24 + arraySize(value.length());
+    }
+
+    /**
+     * Estimates the retained size of an array: a 16 byte header plus its contents, padded to 8 bytes.
+     *
+     * @param length the number of bytes within the array.
+     * @return the estimated number of bytes.
+     */
+    private static long arraySize(long length) {
+        return (16 + length + 7) & ~7;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Verifies that parsing the data files in parallel loads the same words, with their definitions in the same order, as
+ * parsing them serially on the calling thread.
+ */
+public class DictionaryLoaderTest {
+    @Test
+    public void testParallelLoadMatchesSerialLoad() {
+        CompactDictionaryData serial = TestDataFiles.load();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertEquivalent(serial, newLoader(executor).load());
+            // the listener makes the loader merge the files as they are parsed rather than once at the end
+            DictionaryLoader.Listener listener = new DictionaryLoader.Listener() {
+                @Override
+                public void typeLoaded(DefinitionType type, CompactDictionaryData data) {
+                    Assertions.assertTrue(data.getSynsets(type).size() > 0);
+                }
+
+                @Override
+                public void supplementalLoaded(CompactDictionaryData data) {
+                    Assertions.assertFalse(data.getAdditionalSynonyms().isEmpty());
+                }
+            };
+            assertEquivalent(serial, newLoader(executor).load(listener));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static DictionaryLoader newLoader(ExecutorService executor) {
+        Set<DefinitionType> types = TestDataFiles.availableTypes();
+        return new DictionaryLoader(executor, types, TestDataFiles.hasSupplemental(), GlossStorage.RESIDENT, 0,
+                false, false);
+    }
+
+    /**
+     * Asserts the supplied data hold the same words with the same definitions in the same order.
+     *
+     * @param expected the serially loaded data.
+     * @param actual   the data loaded in parallel.
+     */
+    private static void assertEquivalent(CompactDictionaryData expected, CompactDictionaryData actual) {
+        Assertions.assertEquals(expected.getAllWords(), actual.getAllWords());
+        for (String word : expected.getAllWords()) {
+            Assertions.assertEquals(definitions(expected.lookup(word)), definitions(actual.lookup(word)), word);
+            Assertions.assertEquals(expected.getAdditionalSynonyms(word), actual.getAdditionalSynonyms(word), word);
+            Assertions.assertEquals(expected.getAdditionalRelated(word), actual.getAdditionalRelated(word), word);
+        }
+    }
+
+    private static List<String> definitions(Word word) {
+        List<String> definitions = new ArrayList<>();
+        word.getDefinitions().forEach(definition -> definitions.add(definition.toString()));
+        return definitions;
+    }
+}
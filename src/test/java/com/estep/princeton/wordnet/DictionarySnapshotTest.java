@@ -0,0 +1,121 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Verifies a {@link DictionarySnapshot} written from the parsed data files serves the same words, definitions,
+ * synonyms, and pointers as the {@link CompactDictionaryData} it was written from, and that only snapshots of the
+ * supported version are opened. Both return their definitions as the same read only views.
+ */
+public class DictionarySnapshotTest {
+    @Test
+    public void testSnapshotMatchesParsedData() throws IOException {
+        Set<DefinitionType> types = TestDataFiles.availableTypes();
+        boolean supplemental = TestDataFiles.hasSupplemental();
+        CompactDictionaryData expected = TestDataFiles.load();
+
+        Path path = Files.createTempFile("wordnet", ".snapshot");
+        // a mapped file cannot be deleted on every platform while it is mapped
+        path.toFile().deleteOnExit();
+        DictionarySnapshot.write(expected, path);
+        SnapshotDictionaryData actual = DictionarySnapshot.open(path, types, supplemental);
+
+        Assertions.assertEquals(expected.getAllWords(), actual.getAllWords());
+        int all = DefinitionType.mask(DefinitionType.values());
+        int count = 0;
+        int pointersFound = 0;
+        for (String word : expected.getAllWords()) {
+            Assertions.assertEquals(definitions(expected.lookup(word)), definitions(actual.lookup(word)), word);
+            Assertions.assertEquals(expected.getDefinitionTypes(word), actual.getDefinitionTypes(word), word);
+            Assertions.assertEquals(expected.getAdditionalSynonyms(word), actual.getAdditionalSynonyms(word));
+            Assertions.assertEquals(expected.getAdditionalRelated(word), actual.getAdditionalRelated(word));
+            // the pointers of every word take a while to walk, so a sample of the words is walked
+            if (count++ % 16 == 0) {
+                for (PointerType pointerType : PointerType.values()) {
+                    Set<String> related = expected.getRelated(word, pointerType, 2, all);
+                    Assertions.assertEquals(related, actual.getRelated(word, pointerType, 2, all), word);
+                    pointersFound += related.size();
+                }
+            }
+        }
+        Assertions.assertTrue(pointersFound > 0);
+        Assertions.assertNull(actual.lookup("xyzzy"));
+        Assertions.assertEquals(0, actual.getDefinitionTypes("xyzzy"));
+    }
+
+    @Test
+    public void testDefinitionsAreReadOnly() throws IOException {
+        CompactDictionaryData compact = TestDataFiles.load();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DictionarySnapshot.write(compact, out);
+        SnapshotDictionaryData snapshot = new SnapshotDictionaryData(ByteBuffer.wrap(out.toByteArray()),
+                TestDataFiles.availableTypes(), false);
+
+        for (DictionaryData data : List.of(compact, snapshot)) {
+            Word word = data.lookup("clean");
+            Assertions.assertThrows(UnsupportedOperationException.class,
+                    () -> word.getDefinitions().add(new Definition("clean", DefinitionType.VERB)));
+            for (Definition definition : word.getDefinitions()) {
+                Assertions.assertTrue(definition instanceof DefinitionView);
+                Assertions.assertThrows(UnsupportedOperationException.class, () -> definition.setDefinition("x"));
+                Assertions.assertThrows(UnsupportedOperationException.class,
+                        () -> definition.setSynonyms(new ArrayList<>()));
+                Assertions.assertThrows(UnsupportedOperationException.class, () -> definition.getSynonyms().add("x"));
+                Assertions.assertThrows(UnsupportedOperationException.class, () -> definition.getUsages().add("x"));
+            }
+        }
+    }
+
+    @Test
+    public void testOnlySupportedSnapshotsAreOpened() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DictionarySnapshot.write(TestDataFiles.load(), out);
+        Set<DefinitionType> types = TestDataFiles.availableTypes();
+
+        ByteBuffer snapshot = ByteBuffer.wrap(out.toByteArray());
+        Assertions.assertFalse(new SnapshotDictionaryData(snapshot, types, false).getAllWords().isEmpty());
+
+        ByteBuffer version = ByteBuffer.wrap(out.toByteArray()).putInt(4, DictionarySnapshot.VERSION + 1);
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+                () -> new SnapshotDictionaryData(version, types, false));
+        Assertions.assertTrue(exception.getMessage().contains("version"));
+
+        ByteBuffer magic = ByteBuffer.wrap(out.toByteArray()).putInt(0, 0);
+        Assertions.assertThrows(IllegalStateException.class, () -> new SnapshotDictionaryData(magic, types, false));
+    }
+
+    /**
+     * Returns the definitions of the supplied word as strings, since the two implementations return different
+     * classes of definition.
+     *
+     * @param word the word.
+     * @return the definitions.
+     */
+    private static List<String> definitions(Word word) {
+        List<String> definitions = new ArrayList<>();
+        word.getDefinitions().forEach(definition -> definitions.add(definition.toString()));
+        return definitions;
+    }
+}
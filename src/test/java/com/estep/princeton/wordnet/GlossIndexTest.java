@@ -0,0 +1,88 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Verifies the {@link GlossIndex} matches the same definitions as scanning the text of every definition of the
+ * loaded dictionary, and ranks the documents which contain the rarer terms more often first.
+ */
+public class GlossIndexTest {
+    @Test
+    public void testSearchMatchesScan() {
+        Set<DefinitionType> types = EnumSet.noneOf(DefinitionType.class);
+        for (DefinitionType type : DefinitionType.values()) {
+            if (getClass().getResource(DictionaryLoader.fileName(type)) != null) {
+                types.add(type);
+            }
+        }
+        Assertions.assertFalse(types.isEmpty());
+
+        CompactDictionaryData data = new DictionaryLoader(null, types, false, GlossStorage.RESIDENT, 0, false, false)
+                .load();
+        int all = DefinitionType.mask(DefinitionType.values());
+        List<String> texts = new ArrayList<>();
+        for (String word : data.getAllWords()) {
+            for (Definition definition : data.lookup(word).getDefinitions()) {
+                texts.add(word + ":" + String.join(" ", definition.getDefinition(), String.join(" ",
+                        definition.getUsages())));
+            }
+        }
+
+        String[][][] queries = {{{"move"}}, {{"move", "quickly"}}, {{"red"}, {"blue"}}, {{"walk", "slowly"}, {"fast"}}};
+        for (String[][] query : queries) {
+            Set<String> expected = new HashSet<>();
+            for (String text : texts) {
+                List<String> tokens = GlossIndex.tokens(text.substring(text.indexOf(':') + 1));
+                for (String[] group : query) {
+                    if (tokens.containsAll(List.of(group))) {
+                        expected.add(text);
+                    }
+                }
+            }
+
+            List<String> alternatives = new ArrayList<>();
+            for (String[] group : query) {
+                alternatives.add(String.join(" AND ", group));
+            }
+            Set<String> found = new HashSet<>();
+            for (Definition definition : data.searchDefinitions(String.join(" OR ", alternatives), Integer.MAX_VALUE,
+                    all)) {
+                found.add(definition.getWord() + ":" + String.join(" ", definition.getDefinition(),
+                        String.join(" ", definition.getUsages())));
+            }
+            Assertions.assertFalse(expected.isEmpty());
+            Assertions.assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void testRanking() {
+        String[] documents = {"a red flower", "a red red flower", "a flower", "a tall tree", "red"};
+        GlossIndex index = new GlossIndex(documents.length, document -> documents[document]);
+        Assertions.assertArrayEquals(new int[]{1, 0}, index.search("Red flower", 10, document -> true));
+        Assertions.assertArrayEquals(new int[]{1, 0, 4, 2}, index.search("red OR flower", 10, document -> true));
+        Assertions.assertArrayEquals(new int[]{1}, index.search("red OR flower", 1, document -> true));
+        Assertions.assertArrayEquals(new int[]{2, 0}, index.search("flower", 10, document -> document != 1));
+        Assertions.assertEquals(0, index.search("red AND tree", 10, document -> true).length);
+        Assertions.assertEquals(0, index.search("oak", 10, document -> true).length);
+    }
+}
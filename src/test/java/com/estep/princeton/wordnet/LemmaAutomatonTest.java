@@ -0,0 +1,86 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Verifies the {@link LemmaAutomaton} assigns every lemma of the loaded dictionary the same id as the
+ * {@link LemmaTable}, rejects lemmas which are not in the dictionary, and is read back from its serialized form
+ * unchanged.
+ */
+public class LemmaAutomatonTest {
+    @Test
+    public void testAutomatonMatchesTable() throws IOException {
+        Set<DefinitionType> types = EnumSet.noneOf(DefinitionType.class);
+        for (DefinitionType type : DefinitionType.values()) {
+            if (getClass().getResource(DictionaryLoader.fileName(type)) != null) {
+                types.add(type);
+            }
+        }
+        Assertions.assertFalse(types.isEmpty());
+
+        LemmaStore table = new DictionaryLoader(null, types, false, GlossStorage.RESIDENT, 0, false, false).load()
+                .getLemmas();
+        List<String> lemmas = new ArrayList<>();
+        for (int id = 0; id < table.size(); id++) {
+            lemmas.add(table.lemma(id));
+        }
+        LemmaAutomaton automaton = LemmaAutomaton.build(lemmas);
+        assertSameLemmas(table, automaton);
+        Assertions.assertEquals(-1, automaton.id(""));
+        Assertions.assertEquals(-1, automaton.id("notaword"));
+        Assertions.assertEquals(-1, automaton.id(lemmas.get(0) + "qz"));
+
+        Path path = Files.createTempFile("lemmas", ".automaton");
+        // a mapped file cannot be deleted on every platform while it is mapped
+        path.toFile().deleteOnExit();
+        automaton.write(path);
+        LemmaAutomaton compiled = LemmaAutomaton.open(path);
+        assertSameLemmas(table, compiled);
+
+        // the compiled automaton is only used for exactly its lemmas, in any order and with duplicates
+        List<String> shuffled = new ArrayList<>(lemmas);
+        shuffled.addAll(lemmas.subList(0, 10));
+        Collections.shuffle(shuffled, new Random(1));
+        Assertions.assertSame(compiled, LemmaAutomaton.load(shuffled, compiled));
+        LemmaAutomaton rebuilt = LemmaAutomaton.load(lemmas.subList(1, lemmas.size()), compiled);
+        Assertions.assertNotSame(compiled, rebuilt);
+        Assertions.assertEquals(lemmas.size() - 1, rebuilt.size());
+
+        LemmaTable lemmaTable = new LemmaTable(lemmas);
+        long tableLength = lemmaTable.byteLength() + (long) Integer.BYTES * (lemmas.size() + 1);
+        Assertions.assertTrue(automaton.byteLength() < tableLength, () -> "the automaton takes "
+                + automaton.byteLength() + " bytes, the lemma table takes " + tableLength + " bytes");
+    }
+
+    private void assertSameLemmas(LemmaStore expected, LemmaStore actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int id = 0; id < expected.size(); id++) {
+            String lemma = expected.lemma(id);
+            Assertions.assertEquals(lemma, actual.lemma(id));
+            Assertions.assertEquals(id, actual.id(lemma), lemma);
+        }
+    }
+}
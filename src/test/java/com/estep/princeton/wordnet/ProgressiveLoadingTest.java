@@ -0,0 +1,180 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies that only the configured definition types are loaded, that progressive loading answers a query as soon as
+ * the definition types its result depends on are loaded, with the same result as the fully loaded dictionary, and
+ * that a failed load is rethrown to the queries waiting on it.
+ */
+public class ProgressiveLoadingTest {
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+    @Test
+    public void testUnloadedTypesAreNotFound() {
+        WordDictionary verbs = WordDictionaries.builder()
+                .useSnapshot(false)
+                .loadSupplemental(false)
+                .definitionTypes(DefinitionType.VERB)
+                .build();
+
+        Assertions.assertNotNull(verbs.lookup("melt"));
+        Assertions.assertNull(verbs.lookup("quickly"));
+        Assertions.assertTrue(verbs.getSynonyms("quickly", false, DefinitionType.ADVERB).isEmpty());
+        Assertions.assertFalse(verbs.getAllWords().contains("quickly"));
+    }
+
+    @Test
+    public void testQueryReturnsBeforeOtherTypesAreLoaded() {
+        GatedExecutor executor = new GatedExecutor(false);
+        WordDictionary dictionary = progressive(executor);
+
+        Assertions.assertTimeoutPreemptively(TIMEOUT, () -> {
+            Assertions.assertFalse(dictionary.getSynonyms("melt", false, DefinitionType.VERB).isEmpty());
+            Assertions.assertFalse(dictionary.isReady());
+
+            executor.release();
+            Assertions.assertSame(dictionary, dictionary.warmUp().join());
+            Assertions.assertTrue(dictionary.isReady());
+            Assertions.assertFalse(dictionary.getSynonyms("quickly", false, DefinitionType.ADVERB).isEmpty());
+        });
+    }
+
+    @Test
+    public void testResultsMatchLoadedDictionary() {
+        WordDictionary loaded = WordDictionaries.builder()
+                .useSnapshot(false)
+                .loadSupplemental(false)
+                .definitionTypes(DefinitionType.VERB, DefinitionType.ADJECTIVE)
+                .build();
+        GatedExecutor executor = new GatedExecutor(false);
+        WordDictionary dictionary = progressive(executor, DefinitionType.VERB, DefinitionType.ADJECTIVE);
+
+        Assertions.assertTimeoutPreemptively(TIMEOUT, () -> {
+            // these only read the verb definitions, so they are answered while the adjectives are held back
+            Assertions.assertEquals(loaded.getSynonyms("clean", false, DefinitionType.VERB),
+                    dictionary.getSynonyms("clean", false, DefinitionType.VERB));
+            Assertions.assertEquals(loaded.autocomplete("cle", 10, DefinitionType.VERB),
+                    dictionary.autocomplete("cle", 10, DefinitionType.VERB));
+            Assertions.assertEquals(loaded.baseForms("cleaned", DefinitionType.VERB),
+                    dictionary.baseForms("cleaned", DefinitionType.VERB));
+
+            // the adjective senses of "clean" have synonyms which are also verbs, such as "clear"
+            CompletableFuture<Set<String>> synonyms = CompletableFuture.supplyAsync(
+                    () -> dictionary.getAllSynonyms("clean", false, DefinitionType.VERB));
+            CompletableFuture<Map<String, Integer>> expanded = CompletableFuture.supplyAsync(
+                    () -> dictionary.expand("clean", 2, 50, DefinitionType.VERB));
+            Assertions.assertThrows(TimeoutException.class, () -> synonyms.get(200, TimeUnit.MILLISECONDS));
+            Assertions.assertFalse(expanded.isDone());
+
+            executor.release();
+            Set<String> expected = loaded.getAllSynonyms("clean", false, DefinitionType.VERB);
+            Assertions.assertTrue(expected.contains("clear"));
+            Assertions.assertEquals(expected, synonyms.join());
+            Assertions.assertEquals(loaded.expand("clean", 2, 50, DefinitionType.VERB), expanded.join());
+        });
+    }
+
+    @Test
+    public void testLoadFailureIsRethrownToWaiters() {
+        GatedExecutor executor = new GatedExecutor(true);
+        WordDictionary dictionary = progressive(executor);
+
+        Assertions.assertTimeoutPreemptively(TIMEOUT, () -> {
+            Assertions.assertFalse(dictionary.getSynonyms("melt", false, DefinitionType.VERB).isEmpty());
+            CompletableFuture<Word> waiter = CompletableFuture.supplyAsync(() -> dictionary.lookup("quickly"));
+
+            executor.release();
+            CompletionException exception = Assertions.assertThrows(CompletionException.class, waiter::join);
+            Assertions.assertTrue(exception.getCause() instanceof RejectedExecutionException);
+            Assertions.assertThrows(CompletionException.class, () -> dictionary.warmUp().join());
+            Assertions.assertFalse(dictionary.isReady());
+            Assertions.assertThrows(RejectedExecutionException.class, () -> dictionary.lookup("melt"));
+        });
+    }
+
+    private static WordDictionary progressive(Executor executor) {
+        return progressive(executor, DefinitionType.VERB, DefinitionType.ADVERB);
+    }
+
+    /**
+     * Creates a dictionary which progressively loads the supplied definition types on the supplied executor, and
+     * starts loading it.
+     *
+     * @param executor the executor to parse the data files on.
+     * @param types    the definition types to load, where the verbs are parsed first.
+     * @return the dictionary.
+     */
+    private static WordDictionary progressive(Executor executor, DefinitionType... types) {
+        WordDictionary dictionary = WordDictionaries.builder()
+                .useSnapshot(false)
+                .loadSupplemental(false)
+                .definitionTypes(types)
+                .progressiveLoad(true)
+                .executor(executor)
+                .build();
+        dictionary.warmUp();
+        return dictionary;
+    }
+
+    /**
+     * Runs the first task it is given on its own thread right away and holds the submission of the rest until it is
+     * released, then either runs them or rejects them.
+     */
+    private static class GatedExecutor implements Executor {
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final AtomicInteger submitted = new AtomicInteger();
+        private final boolean reject;
+
+        GatedExecutor(boolean reject) {
+            this.reject = reject;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (submitted.getAndIncrement() > 0) {
+                try {
+                    gate.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException(exception);
+                }
+                if (reject) {
+                    throw new RejectedExecutionException("the task is rejected");
+                }
+            }
+            Thread thread = new Thread(task, "wordnet-test-loader");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void release() {
+            gate.countDown();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Finds which of the WordNet data files are on the classpath, so the tests which parse the data files run against
+ * whichever of them the build includes.
+ */
+final class TestDataFiles {
+    private TestDataFiles() {
+    }
+
+    /**
+     * Returns the definition types whose data file is on the classpath, failing the test when there are none.
+     *
+     * @return the definition types.
+     */
+    static Set<DefinitionType> availableTypes() {
+        Set<DefinitionType> types = EnumSet.noneOf(DefinitionType.class);
+        for (DefinitionType type : DefinitionType.values()) {
+            if (TestDataFiles.class.getResource(DictionaryLoader.fileName(type)) != null) {
+                types.add(type);
+            }
+        }
+        Assertions.assertFalse(types.isEmpty(), "no WordNet data file is on the classpath");
+        return types;
+    }
+
+    /**
+     * Returns true if both of the additional synonym and related word datasets are on the classpath.
+     *
+     * @return true if the additional datasets can be loaded.
+     */
+    static boolean hasSupplemental() {
+        return TestDataFiles.class.getResource("/data.syns") != null
+                && TestDataFiles.class.getResource("/data.related") != null;
+    }
+
+    /**
+     * Loads the dictionary data of every data file on the classpath.
+     *
+     * @return the loaded data.
+     */
+    static CompactDictionaryData load() {
+        return new DictionaryLoader(null, availableTypes(), hasSupplemental(), GlossStorage.RESIDENT, 0,
+                false, false).load();
+    }
+}
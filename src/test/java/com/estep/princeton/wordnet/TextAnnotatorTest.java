@@ -0,0 +1,157 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import opennlp.tools.postag.POSModel;
+import opennlp.tools.postag.POSSample;
+import opennlp.tools.postag.POSTaggerFactory;
+import opennlp.tools.postag.POSTaggerME;
+import opennlp.tools.util.ObjectStreamUtils;
+import opennlp.tools.util.TrainingParameters;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Verifies that {@link TextAnnotator} resolves each tagged token only as the definition type of its tag, skips the
+ * tokens which are not tagged as a noun, verb, adjective, or adverb, and stops annotating a stream once it is closed.
+ */
+public class TextAnnotatorTest {
+    private static final String DOCUMENT = "They quickly melt in the warm sun";
+
+    private static WordDictionary dictionary;
+
+    @BeforeAll
+    public static void loadDictionary() {
+        dictionary = WordDictionaries.builder()
+                .useSnapshot(false)
+                .loadSupplemental(false)
+                .definitionTypes(DefinitionType.VERB, DefinitionType.ADVERB, DefinitionType.ADJECTIVE)
+                .build();
+    }
+
+    @Test
+    public void testPartOfSpeech() {
+        Assertions.assertEquals(DefinitionType.NOUN, TextAnnotator.partOfSpeech("NNS"));
+        Assertions.assertEquals(DefinitionType.VERB, TextAnnotator.partOfSpeech("VBD"));
+        Assertions.assertEquals(DefinitionType.ADJECTIVE, TextAnnotator.partOfSpeech("JJR"));
+        Assertions.assertEquals(DefinitionType.ADVERB, TextAnnotator.partOfSpeech("RBS"));
+        Assertions.assertNull(TextAnnotator.partOfSpeech("IN"));
+        Assertions.assertNull(TextAnnotator.partOfSpeech("DT"));
+        Assertions.assertNull(TextAnnotator.partOfSpeech("PRP"));
+    }
+
+    @Test
+    public void testTaggedTokensResolveAsTheirTag() throws IOException {
+        TextAnnotator untagged = TextAnnotator.builder(dictionary)
+                .definitionTypes(DefinitionType.VERB, DefinitionType.ADVERB, DefinitionType.ADJECTIVE)
+                .build();
+        // "in" is an adverb and "sun" a verb in WordNet, so both are annotated when the tokens are not tagged
+        Assertions.assertEquals(List.of("quickly", "melt", "in", "warm", "sun"), tokens(untagged.annotate(DOCUMENT)));
+
+        TextAnnotator tagged = TextAnnotator.builder(dictionary)
+                .posModel(posModel())
+                .definitionTypes(DefinitionType.VERB, DefinitionType.ADVERB, DefinitionType.ADJECTIVE)
+                .build();
+        List<Annotation> annotations = tagged.annotate(DOCUMENT);
+        Assertions.assertEquals(List.of("quickly", "melt", "warm"), tokens(annotations));
+        Assertions.assertEquals(List.of(DefinitionType.ADVERB, DefinitionType.VERB, DefinitionType.ADJECTIVE),
+                annotations.stream().map(Annotation::getPartOfSpeech).collect(Collectors.toList()));
+        for (Annotation annotation : annotations) {
+            Assertions.assertTrue(Collections.singleton(annotation.getPartOfSpeech())
+                    .containsAll(annotation.getSynonyms().keySet()), annotation.getToken());
+        }
+
+        List<Annotation> streamed;
+        try (Stream<Annotation> stream = tagged.annotate(Stream.of(DOCUMENT, DOCUMENT))) {
+            streamed = stream.collect(Collectors.toList());
+        }
+        Assertions.assertEquals(List.of("quickly", "melt", "warm", "quickly", "melt", "warm"), tokens(streamed));
+    }
+
+    @Test
+    public void testClosingStreamCancelsPendingBatches() {
+        AtomicInteger queries = new AtomicInteger();
+        WordDictionary counting = (WordDictionary) Proxy.newProxyInstance(WordDictionary.class.getClassLoader(),
+                new Class<?>[]{WordDictionary.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("baseForms")) {
+                        queries.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(dictionary, args);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                });
+        // the first batch is annotated right away and the rest are held until the test runs them
+        List<Runnable> held = new ArrayList<>();
+        Executor executor = task -> {
+            if (queries.get() == 0 && held.isEmpty()) {
+                task.run();
+            } else {
+                held.add(task);
+            }
+        };
+        TextAnnotator annotator = TextAnnotator.builder(counting)
+                .executor(executor)
+                .batchSize(1)
+                .bufferSize(2)
+                .build();
+
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Annotation> annotations = annotator.annotate(Stream.generate(() -> "melt")
+                .onClose(() -> closed.set(true)));
+        Iterator<Annotation> iterator = annotations.iterator();
+        Assertions.assertEquals("melt", iterator.next().getWord());
+        Assertions.assertEquals(1, held.size());
+
+        int annotated = queries.get();
+        annotations.close();
+        Assertions.assertTrue(closed.get());
+        held.forEach(Runnable::run);
+        Assertions.assertEquals(annotated, queries.get());
+    }
+
+    /**
+     * Trains a part-of-speech model on the test document alone, which is enough for the model to tag that document
+     * the way it was trained.
+     *
+     * @return the model.
+     * @throws IOException if the model could not be trained.
+     */
+    private static POSModel posModel() throws IOException {
+        POSSample sample = POSSample.parse("They_PRP quickly_RB melt_VBP in_IN the_DT warm_JJ sun_NN");
+        TrainingParameters parameters = TrainingParameters.defaultParams();
+        parameters.put(TrainingParameters.CUTOFF_PARAM, 1);
+        parameters.put(TrainingParameters.ITERATIONS_PARAM, 50);
+        return POSTaggerME.train("en", ObjectStreamUtils.createObjectStream(Collections.nCopies(8, sample)),
+                parameters, new POSTaggerFactory());
+    }
+
+    private static List<String> tokens(List<Annotation> annotations) {
+        return annotations.stream().map(Annotation::getToken).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies that {@link WordDictionary#warmUp()} loads the dictionary once no matter how often it is called, that
+ * {@link WordDictionary#isReady()} reports the load, and that a failed load is reported by the future and rethrown
+ * to the queries.
+ */
+public class WarmUpTest {
+    @Test
+    public void testReadyOnceWarmedUp() {
+        WordDictionary dictionary = verbs(Runnable::run);
+
+        Assertions.assertFalse(dictionary.isReady());
+        Assertions.assertSame(dictionary, dictionary.warmUp().join());
+        Assertions.assertTrue(dictionary.isReady());
+        Assertions.assertNotNull(dictionary.lookup("melt"));
+    }
+
+    @Test
+    public void testWarmUpCallsShareOneLoad() {
+        AtomicInteger tasks = new AtomicInteger();
+        WordDictionary dictionary = verbs(task -> {
+            tasks.incrementAndGet();
+            task.run();
+        });
+
+        CompletableFuture<WordDictionary> first = dictionary.warmUp();
+        CompletableFuture<WordDictionary> second = dictionary.warmUp();
+        Assertions.assertNotNull(dictionary.lookup("melt"));
+        Assertions.assertSame(dictionary, first.join());
+        Assertions.assertSame(dictionary, second.join());
+        Assertions.assertSame(dictionary, dictionary.warmUp().join());
+        Assertions.assertEquals(1, tasks.get());
+    }
+
+    @Test
+    public void testFailedLoadIsRethrown() {
+        AtomicInteger tasks = new AtomicInteger();
+        WordDictionary dictionary = verbs(task -> {
+            tasks.incrementAndGet();
+            throw new RejectedExecutionException("the task is rejected");
+        });
+
+        CompletionException exception = Assertions.assertThrows(CompletionException.class,
+                () -> dictionary.warmUp().join());
+        Assertions.assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        Assertions.assertFalse(dictionary.isReady());
+        Assertions.assertThrows(RejectedExecutionException.class, () -> dictionary.lookup("melt"));
+        Assertions.assertThrows(RejectedExecutionException.class, dictionary::getAllWords);
+        Assertions.assertEquals(1, tasks.get());
+    }
+
+    /**
+     * Creates a dictionary of the verbs parsed from the data file on the supplied executor.
+     *
+     * @param executor the executor to parse the data file on.
+     * @return the dictionary.
+     */
+    private static WordDictionary verbs(Executor executor) {
+        return WordDictionaries.builder()
+                .useSnapshot(false)
+                .loadSupplemental(false)
+                .definitionTypes(DefinitionType.VERB)
+                .executor(executor)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ Copyright (C). Estep Software Forensics -- All Rights Reserved.
+ Copyright Registration Number: TXU002159309.
+
+ This file is part of the Tag My Code application.
+
+ This application is protected under copyright laws and cannot be used, distributed, or copied without prior written
+ consent from Estep Software Forensics.  Unauthorized distribution or use is strictly prohibited and punishable by
+ domestic and international law.
+
+ Proprietary and confidential.
+ */
+package com.estep.princeton.wordnet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * Verifies that {@link WordDictionaries.Builder} creates working dictionaries without a Spring context, applies the
+ * configuration properties, rejects invalid configuration, and only maps a snapshot when snapshots are used.
+ */
+public class WordDictionariesTest {
+    @Test
+    public void testBuild() {
+        WordDictionaries.Builder builder = WordDictionaries.builder()
+                .useSnapshot(false)
+                .loadSupplemental(false)
+                .definitionTypes(DefinitionType.VERB);
+
+        WordDictionary dictionary = builder.build();
+        Assertions.assertNotNull(dictionary.lookup("melt"));
+        Assertions.assertTrue(dictionary.isReady());
+        Assertions.assertNotSame(dictionary, builder.build());
+    }
+
+    @Test
+    public void testInvalidConfigurationIsRejected() {
+        WordDictionaries.Builder builder = WordDictionaries.builder();
+
+        Assertions.assertThrows(IllegalArgumentException.class, builder::definitionTypes);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> builder.definitionTypes((DefinitionType[]) null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.glossCacheSize(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.baseFormCacheSize(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.synonymCacheSize(-1));
+
+        // the rejected values leave the defaults in place
+        Assertions.assertEquals(EnumSet.allOf(DefinitionType.class), builder.getDefinitionTypes());
+        Assertions.assertEquals(0, builder.getGlossCacheSize());
+        Assertions.assertEquals(4096, builder.getBaseFormCacheSize());
+        Assertions.assertEquals(0, builder.getSynonymCacheSize());
+    }
+
+    @Test
+    public void testProperties() {
+        Map<String, String> properties = Map.of(
+                "wordnet.parallel-load", "true",
+                "wordnet.definition-types", " verb, ADVERB ",
+                "wordnet.load-supplemental", "FALSE",
+                "wordnet.gloss-cache-size", "64",
+                "wordnet.base-form-cache-size", " ",
+                "wordnet.synonym-cache-size", "128");
+        WordDictionaries.Builder builder = WordDictionaries.builder().properties(properties::get);
+
+        Assertions.assertNotNull(builder.getExecutor());
+        Assertions.assertEquals(EnumSet.of(DefinitionType.VERB, DefinitionType.ADVERB), builder.getDefinitionTypes());
+        Assertions.assertFalse(builder.isLoadSupplemental());
+        Assertions.assertEquals(64, builder.getGlossCacheSize());
+        // blank and missing properties keep the defaults
+        Assertions.assertEquals(4096, builder.getBaseFormCacheSize());
+        Assertions.assertFalse(builder.isEagerLoad());
+        Assertions.assertEquals(128, builder.getSynonymCacheSize());
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> builder.properties(Map.of("wordnet.eager-load", "yes")::get));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> builder.properties(Map.of("wordnet.synonym-cache-size", "many")::get));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> builder.properties(Map.of("wordnet.gloss-cache-size", "-1")::get));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> builder.properties(Map.of("wordnet.definition-types", "PRONOUN")::get));
+    }
+
+    @Test
+    public void testSnapshotIsNotUsedWhenDisabled() throws IOException {
+        CompactDictionaryData verbs = new DictionaryLoader(null, EnumSet.of(DefinitionType.VERB), false,
+                GlossStorage.RESIDENT, 0, false, false).load();
+        Path path = Files.createTempFile("wordnet", ".snapshot");
+        // a mapped file cannot be deleted on every platform while it is mapped
+        path.toFile().deleteOnExit();
+        DictionarySnapshot.write(verbs, path);
+
+        WordDictionaries.Builder builder = WordDictionaries.builder()
+                .snapshot(path)
+                .loadSupplemental(false)
+                .definitionTypes(DefinitionType.VERB, DefinitionType.ADVERB);
+        Assertions.assertTrue(builder.isUseSnapshot());
+        WordDictionary snapshot = builder.build();
+        Assertions.assertNotNull(snapshot.lookup("melt"));
+        Assertions.assertNull(snapshot.lookup("quickly"));
+
+        WordDictionary parsed = builder.useSnapshot(false).build();
+        Assertions.assertFalse(builder.isUseSnapshot());
+        Assertions.assertNotNull(parsed.lookup("melt"));
+        Assertions.assertNotNull(parsed.lookup("quickly"));
+    }
+}
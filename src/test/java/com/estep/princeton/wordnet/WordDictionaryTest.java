@@ -17,9 +17,15 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import javax.annotation.Resource;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class WordDictionaryTest extends BaseTest {
     @Resource
@@ -171,4 +177,191 @@ public class WordDictionaryTest extends BaseTest {
         Assertions.assertNotNull(synonyms);
         Assertions.assertEquals(5, synonyms.size());
     }
+
+    @Test
+    public void testLookupAll() {
+        Map<String, Word> words = wordDictionary.lookupAll(Arrays.asList("show", "SHOW", "xxxx", "show"));
+        Assertions.assertEquals(2, words.size());
+        Assertions.assertEquals(7, words.get("show").getDefinitions().size());
+        Assertions.assertEquals(7, words.get("SHOW").getDefinitions().size());
+        Assertions.assertFalse(words.containsKey("xxxx"));
+    }
+
+    @Test
+    public void testGetAllSynonymsAll() {
+        Map<String, Set<String>> synonyms = wordDictionary.getAllSynonymsAll(Arrays.asList("show", "ShOw", "xxxx"),
+                true, DefinitionType.NOUN, DefinitionType.VERB);
+        Assertions.assertEquals(3, synonyms.size());
+        Assertions.assertEquals(10, synonyms.get("show").size());
+        Assertions.assertEquals(10, synonyms.get("ShOw").size());
+        Assertions.assertTrue(synonyms.get("xxxx").isEmpty());
+    }
+
+    @Test
+    public void testGetSynonymsAll() {
+        Map<String, Map<DefinitionType, Set<String>>> synonyms = wordDictionary.getSynonymsAll(List.of("show"), true);
+        Assertions.assertEquals(1, synonyms.size());
+        Assertions.assertEquals(14, synonyms.get("show").get(DefinitionType.VERB).size());
+        Assertions.assertEquals(22, synonyms.get("show").get(DefinitionType.NOUN).size());
+        Assertions.assertEquals(2, synonyms.get("show").get(DefinitionType.ADJECTIVE).size());
+    }
+
+    @Test
+    public void testAutocomplete() {
+        List<String> words = wordDictionary.autocomplete("ShoW", 10);
+        Assertions.assertEquals(10, words.size());
+        Assertions.assertTrue(words.contains("show"));
+        words.forEach(word -> Assertions.assertTrue(word.startsWith("show")));
+    }
+
+    @Test
+    public void testAutocompleteSpecificTypes() {
+        List<String> words = wordDictionary.autocomplete("show", 5, DefinitionType.VERB);
+        Assertions.assertFalse(words.isEmpty());
+        for (String word : words) {
+            Assertions.assertTrue(word.startsWith("show"));
+            Assertions.assertTrue(wordDictionary.lookup(word).getDefinitions().stream()
+                    .anyMatch(definition -> definition.getDefinitionType() == DefinitionType.VERB));
+        }
+    }
+
+    @Test
+    public void testSuggest() {
+        List<String> words = wordDictionary.suggest("Shwo", 1, 5);
+        Assertions.assertFalse(words.isEmpty());
+        Assertions.assertTrue(words.size() <= 5);
+        Assertions.assertTrue(words.contains("show"));
+        Assertions.assertTrue(wordDictionary.suggest("show", 0, 5).contains("show"));
+    }
+
+    @Test
+    public void testSuggestSpecificTypes() {
+        List<String> words = wordDictionary.suggest("recieve", 2, 5, DefinitionType.VERB);
+        Assertions.assertTrue(words.contains("receive"));
+        for (String word : words) {
+            Assertions.assertTrue(wordDictionary.lookup(word).getDefinitions().stream()
+                    .anyMatch(definition -> definition.getDefinitionType() == DefinitionType.VERB));
+        }
+    }
+
+    @Test
+    public void testBaseForms() {
+        Assertions.assertEquals(List.of("show"), wordDictionary.baseForms("Showed", DefinitionType.VERB));
+        Assertions.assertTrue(wordDictionary.baseForms("running", DefinitionType.VERB).contains("run"));
+        Assertions.assertTrue(wordDictionary.baseForms("boxes").contains("box"));
+        Assertions.assertTrue(wordDictionary.baseForms("xyzzy").isEmpty());
+    }
+
+    @Test
+    public void testLookupInflected() {
+        Word word = wordDictionary.lookupInflected("showed");
+        Assertions.assertNotNull(word);
+        Assertions.assertEquals("show", word.getWord());
+        Assertions.assertEquals("show", wordDictionary.lookupInflected("show").getWord());
+        Assertions.assertNull(wordDictionary.lookupInflected("xyzzy"));
+    }
+
+    @Test
+    public void testGetHypernyms() {
+        Set<String> hypernyms = wordDictionary.getHypernyms("Dog", DefinitionType.NOUN);
+        Assertions.assertTrue(hypernyms.contains("canine"));
+        Assertions.assertFalse(hypernyms.contains("dog"));
+    }
+
+    @Test
+    public void testGetAntonyms() {
+        Assertions.assertTrue(wordDictionary.getAntonyms("good").contains("bad"));
+        Assertions.assertTrue(wordDictionary.getAntonyms("xyzzy").isEmpty());
+    }
+
+    @Test
+    public void testGetRelated() {
+        Set<String> parents = wordDictionary.getRelated("dog", PointerType.HYPERNYM, 1, DefinitionType.NOUN);
+        Set<String> ancestors = wordDictionary.getRelated("dog", PointerType.HYPERNYM, 5, DefinitionType.NOUN);
+        Assertions.assertTrue(ancestors.containsAll(parents));
+        Assertions.assertTrue(ancestors.contains("carnivore"));
+        Assertions.assertTrue(wordDictionary.getRelated("dog", PointerType.HYPERNYM, 0).isEmpty());
+    }
+
+    @Test
+    public void testSimilarity() {
+        Assertions.assertEquals(1.0, wordDictionary.pathSimilarity("dog", "Dog"));
+        Assertions.assertTrue(wordDictionary.wuPalmerSimilarity("dog", "cat", DefinitionType.NOUN)
+                > wordDictionary.wuPalmerSimilarity("dog", "car", DefinitionType.NOUN));
+        Assertions.assertTrue(wordDictionary.leacockChodorowSimilarity("dog", "wolf")
+                > wordDictionary.leacockChodorowSimilarity("dog", "idea"));
+        Assertions.assertEquals(0.0, wordDictionary.similarity("dog", "xyzzy", SimilarityMeasure.PATH));
+    }
+
+    @Test
+    public void testSimilarityMatrix() {
+        double[][] matrix = wordDictionary.similarityMatrix(List.of("dog", "cat", "xyzzy"));
+        Assertions.assertEquals(1.0, matrix[0][0]);
+        Assertions.assertEquals(matrix[0][1], matrix[1][0]);
+        Assertions.assertEquals(wordDictionary.wuPalmerSimilarity("dog", "cat"), matrix[0][1]);
+        Assertions.assertEquals(0.0, matrix[2][1]);
+    }
+
+    @Test
+    public void testExpand() {
+        Map<String, Integer> expanded = wordDictionary.expand("Show", 2, 50);
+        Assertions.assertEquals(50, expanded.size());
+        Assertions.assertFalse(expanded.containsKey("show"));
+        Set<String> neighbors = new HashSet<>();
+        wordDictionary.getAllSynonyms("show", true).forEach(w -> neighbors.add(w.toLowerCase(Locale.ROOT)));
+        wordDictionary.getAllRelated("show").forEach(w -> neighbors.add(w.toLowerCase(Locale.ROOT)));
+        Assertions.assertTrue(neighbors.containsAll(
+                wordDictionary.expand("show", 1, Integer.MAX_VALUE, DefinitionType.NOUN).keySet()));
+
+        int hops = 0;
+        for (int hop : expanded.values()) {
+            Assertions.assertTrue(hop >= hops && hop <= 2);
+            hops = hop;
+        }
+        Assertions.assertTrue(wordDictionary.expand("xyzzy", 2, 10).isEmpty());
+    }
+
+    @Test
+    public void testSearchDefinitions() {
+        List<Definition> found = wordDictionary.searchDefinitions("flower", 10);
+        Assertions.assertFalse(found.isEmpty());
+        Assertions.assertTrue(found.size() <= 10);
+        for (Definition definition : found) {
+            String text = definition.getDefinition() + " " + String.join(" ", definition.getUsages());
+            Assertions.assertTrue(text.toLowerCase(Locale.ROOT).contains("flower"));
+        }
+        for (Definition definition : wordDictionary.searchDefinitions("flower", 10, DefinitionType.VERB)) {
+            Assertions.assertEquals(DefinitionType.VERB, definition.getDefinitionType());
+        }
+        Assertions.assertTrue(wordDictionary.searchDefinitions("flower", 0).isEmpty());
+        Assertions.assertTrue(wordDictionary.searchDefinitions("xyzzy", 10).isEmpty());
+    }
+
+    @Test
+    public void testAnnotate() {
+        TextAnnotator annotator = TextAnnotator.builder(wordDictionary)
+                .definitionTypes(DefinitionType.VERB)
+                .batchSize(2)
+                .bufferSize(2)
+                .build();
+        List<Annotation> annotations = annotator.annotate("He showed us, 3 times.");
+        Assertions.assertEquals(2, annotations.size());
+        Annotation showed = annotations.get(0);
+        Assertions.assertEquals("showed", showed.getToken());
+        Assertions.assertEquals("show", showed.getWord());
+        Assertions.assertEquals(3, showed.getStart());
+        Assertions.assertEquals(9, showed.getEnd());
+        Assertions.assertEquals(wordDictionary.getSynonyms("show", false, DefinitionType.VERB), showed.getSynonyms());
+        Assertions.assertEquals("time", annotations.get(1).getWord());
+
+        List<String> documents = List.of("", "show", "He showed us, 3 times.", "xyzzy", "show");
+        try (Stream<Annotation> stream = annotator.annotate(documents.stream())) {
+            long[] positions = stream.mapToLong(Annotation::getDocument).toArray();
+            Assertions.assertArrayEquals(new long[]{1, 2, 2, 4}, positions);
+        }
+        try (Stream<Annotation> stream = annotator.annotate(new StringReader("show\nxyzzy\ntimes"))) {
+            List<String> words = stream.map(Annotation::getWord).collect(Collectors.toList());
+            Assertions.assertEquals(List.of("show", "time"), words);
+        }
+    }
 }